@@ -0,0 +1,23 @@
+package com.lokummeet.backend;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<Map<String, Object>> handleApiException(ApiException e) {
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", e.getStatus());
+        body.put("message", e.getMessage());
+        if (e.getErrors() != null) {
+            body.put("errors", e.getErrors());
+        }
+        return ResponseEntity.status(e.getStatus()).body(body);
+    }
+}
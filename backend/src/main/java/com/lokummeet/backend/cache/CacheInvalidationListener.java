@@ -0,0 +1,50 @@
+package com.lokummeet.backend.cache;
+
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts exactly the cache entries affected by a row change. Runs after commit so a
+ * concurrent reader cannot re-cache the old row between eviction and commit.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationListener {
+    private final CacheManager cacheManager;
+
+    public CacheInvalidationListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        log.debug("Evicting caches for event {}", event.getEventId());
+        cache(CacheName.EVENT_DETAIL).evict(event.getEventId());
+        // EVENT_DETAIL_JSON is keyed by version: the new ETag misses and the old entry ages out
+        cache(CacheName.EVENT_VERSION).evict(event.getEventId());
+        // feed pages are keyed by cursor, so any change can shift every page
+        cache(CacheName.EVENT_CARD_FEED).clear();
+        cache(CacheName.EVENT_CARD_FEED_JSON).clear();
+        cache(CacheName.FEED_VERSION).clear();
+        cache(CacheName.EVENT_SEARCH).clear();
+        cache(CacheName.CATEGORY_FEED_LIST).clear();
+        cache(CacheName.PERSONAL_FEED).clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting caches for user {}", event.getUserId());
+        cache(CacheName.USER_PRINCIPAL).evict(event.getEmail());
+        cache(CacheName.USER_PROFILE).evict(event.getEmail());
+        cache(CacheName.FEED_PROFILE).evict(event.getEmail());
+        cache(CacheName.TOKEN_VERSION).evict(event.getUserId());
+    }
+
+    private Cache cache(CacheName cacheName) {
+        return cacheManager.getCache(cacheName.name());
+    }
+}
@@ -0,0 +1,29 @@
+package com.lokummeet.backend.cache;
+
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+
+import java.util.function.Function;
+
+/**
+ * Recomputes a cached value from its key, so a cache can refresh entries in the background
+ * instead of letting them expire. Returning {@code null} drops the entry.
+ */
+public interface CacheValueLoader {
+    CacheName cacheName();
+
+    Object load(Object key);
+
+    static CacheValueLoader of(CacheName cacheName, Function<Object, Object> loader) {
+        return new CacheValueLoader() {
+            @Override
+            public CacheName cacheName() {
+                return cacheName;
+            }
+
+            @Override
+            public Object load(Object key) {
+                return loader.apply(key);
+            }
+        };
+    }
+}
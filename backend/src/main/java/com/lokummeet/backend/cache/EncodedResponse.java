@@ -0,0 +1,15 @@
+package com.lokummeet.backend.cache;
+
+import lombok.Value;
+
+/** A response body already serialized to JSON, plus its gzip form when the body is worth compressing. */
+@Value
+public class EncodedResponse {
+    byte[] json;
+    /** {@code null} for bodies below the compression threshold. */
+    byte[] gzip;
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
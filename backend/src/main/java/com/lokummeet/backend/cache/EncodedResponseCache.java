@@ -0,0 +1,68 @@
+package com.lokummeet.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps hot response bodies as encoded bytes, so a hit skips mapping and serialization and the
+ * bytes go straight to the servlet output stream. Entries are evicted together with the
+ * object caches they are built from.
+ */
+@Component
+public class EncodedResponseCache {
+    /** Below this, gzip framing costs more than it saves. */
+    static final int GZIP_THRESHOLD = 1024;
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    public EncodedResponseCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Cached encoding of the body for {@code key}; {@code null}, and nothing cached, when the body is {@code null}. */
+    public EncodedResponse get(CacheName cacheName, Object key, Supplier<?> body) {
+        final Cache cache = cacheManager.getCache(cacheName.name());
+        final EncodedResponse cached = cache.get(key, EncodedResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        final Object value = body.get();
+        if (value == null) {
+            return null;
+        }
+        final EncodedResponse encoded = encode(value);
+        cache.put(key, encoded);
+        return encoded;
+    }
+
+    EncodedResponse encode(Object value) {
+        try {
+            final byte[] json = objectMapper.writeValueAsBytes(value);
+            return new EncodedResponse(json, json.length < GZIP_THRESHOLD ? null : gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,9 @@
+package com.lokummeet.backend.cache;
+
+import lombok.Value;
+
+/** Published by the service layer after an {@code Event} row is created, updated or deleted. */
+@Value
+public class EventChangedEvent {
+    Long eventId;
+}
@@ -0,0 +1,10 @@
+package com.lokummeet.backend.cache;
+
+import lombok.Value;
+
+/** Published by the service layer after a {@code User} row is created or updated. */
+@Value
+public class UserChangedEvent {
+    Long userId;
+    String email;
+}
@@ -1,48 +1,206 @@
 package com.lokummeet.backend.config;
 
-import io.github.bucket4j.BandwidthBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
-import io.github.bucket4j.local.LocalBucketBuilder;
-import io.github.bucket4j.local.SynchronizationStrategy;
-import jakarta.servlet.Filter;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Token-bucket rate limiting by route tier. Runs inside the security chain right after
+ * {@link com.lokummeet.backend.filter.JwtAuthFilter}, so bearer-authenticated callers are
+ * limited per principal instead of sharing a bucket with everyone behind the same NAT.
+ */
+@Slf4j
 @Component
-public class BucketFilter implements Filter {
-    static final int TOKEN_CAPACITY = 50;
-    private static final long overdraft = 50;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+public class BucketFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
-    private Bucket newBucket(String ip) {
-        return Bucket.builder()
-                .addLimit(limit ->
-                        limit.capacity(TOKEN_CAPACITY).refillGreedy(TOKEN_CAPACITY, Duration.ofSeconds(1))
-                ).build();
+    /**
+     * Buckets idle for longer than the idle timeout are dropped. A bucket untouched for a full
+     * refill period is back at capacity anyway, so eviction never grants extra tokens as long as
+     * the timeout is at least the longest refill period.
+     */
+    private final Cache<String, Bucket> buckets;
+    private final BucketStore bucketStore;
+    private final MeterRegistry meterRegistry;
+    /** Allowed and rejected counters per tier name. */
+    private final Map<String, Counter[]> tierCounters = new ConcurrentHashMap<>();
+    private final Timer checkTimer;
+    private final Duration idleTimeout;
+    private volatile List<RateLimitProperties.Tier> tiers;
+    private volatile long configurationVersion = System.currentTimeMillis();
+
+    public BucketFilter(BucketStore bucketStore, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        validate(properties.getTiers(), properties.getIdleTimeout());
+        this.idleTimeout = properties.getIdleTimeout();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .<String, Bucket>removalListener((key, bucket, cause) -> {
+                    if (bucket != null) {
+                        bucketStore.release(bucket);
+                    }
+                })
+                .build();
+        this.bucketStore = bucketStore;
+        this.meterRegistry = meterRegistry;
+        this.tiers = List.copyOf(properties.getTiers());
+        this.checkTimer = Timer.builder("ratelimit.check")
+                .description("Bucket lookup and token consumption, including shared-store round trips")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.buckets.active", buckets, Cache::estimatedSize)
+                .description("Bucket handles held by this replica")
+                .register(meterRegistry);
     }
 
     @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, jakarta.servlet.ServletException {
-        final String ip = request.getRemoteAddr();
-        final Bucket requestBucket = buckets.computeIfAbsent(ip, this::newBucket);
-
-        if (!requestBucket.tryConsume(1)) {
-            final HttpServletResponse httpServletResponse = (HttpServletResponse) response;
-            httpServletResponse.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final String path = request.getRequestURI();
+        final RateLimitProperties.Tier tier = resolveTier(path);
+        if (tier == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final String principal = authenticatedPrincipal();
+        final long capacity = tier.capacityFor(principal != null);
+        final String key = principal != null
+                ? tier.getName() + "|u:" + principal
+                : tier.getName() + "|ip:" + request.getRemoteAddr();
+        final long start = System.nanoTime();
+        final Bucket bucket = buckets.get(key, k -> bucketStore.bucket(k,
+                configuration(capacity, tier.getRefillPeriod()), configurationVersion));
+        final ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(costOf(tier, path));
+        checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        countersFor(tier)[probe.isConsumed() ? 0 : 1].increment();
+
+        response.setHeader("X-RateLimit-Limit", Long.toString(capacity));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(probe.getRemainingTokens()));
+        if (!probe.isConsumed()) {
+            final long waitSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999));
+            response.setHeader("Retry-After", Long.toString(waitSeconds));
+            response.setHeader("X-RateLimit-Reset", Long.toString(waitSeconds));
+            // written directly: sendError would dispatch to /error, which the security chain redirects to login
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests");
             return;
         }
 
         chain.doFilter(request, response);
     }
+
+    /**
+     * Swaps in new tiers; existing handles are dropped so every caller picks up the new limits. Shared
+     * buckets carry the new configuration version, so their stored limits are replaced on next use.
+     */
+    public void reload(List<RateLimitProperties.Tier> newTiers) {
+        validate(newTiers, idleTimeout);
+        log.info("Reloading rate-limit tiers: {}", newTiers);
+        this.tiers = List.copyOf(newTiers);
+        this.configurationVersion = System.currentTimeMillis();
+        buckets.invalidateAll();
+    }
+
+    /**
+     * Rejects tiers the buckets cannot honour: empty ones, and refill periods longer than the idle
+     * timeout, after which an evicted bucket would come back full before it had refilled.
+     */
+    static void validate(List<RateLimitProperties.Tier> tiers, Duration idleTimeout) {
+        for (RateLimitProperties.Tier tier : tiers) {
+            if (tier.getCapacity() <= 0 || tier.capacityFor(true) <= 0) {
+                throw new IllegalArgumentException("Tier " + tier.getName() + " must have a positive capacity");
+            }
+            if (tier.getRefillPeriod().isNegative() || tier.getRefillPeriod().isZero()) {
+                throw new IllegalArgumentException("Tier " + tier.getName() + " must have a positive refill period");
+            }
+            if (idleTimeout.compareTo(tier.getRefillPeriod()) < 0) {
+                throw new IllegalArgumentException("Tier " + tier.getName() + " refills over " + tier.getRefillPeriod()
+                        + ", longer than rate-limit.idle-timeout " + idleTimeout);
+            }
+        }
+    }
+
+    public List<RateLimitProperties.Tier> getTiers() {
+        return tiers;
+    }
+
+    long activeBuckets() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Counter[] countersFor(RateLimitProperties.Tier tier) {
+        return tierCounters.computeIfAbsent(tier.getName(), name -> new Counter[]{
+                requestCounter(name, "allowed"), requestCounter(name, "rejected")});
+    }
+
+    private Counter requestCounter(String tier, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Requests checked against a rate-limit tier")
+                .tag("tier", tier)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private RateLimitProperties.Tier resolveTier(String path) {
+        for (RateLimitProperties.Tier tier : tiers) {
+            for (String pattern : tier.getPatterns()) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return tier;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long costOf(RateLimitProperties.Tier tier, String path) {
+        for (Map.Entry<String, Long> cost : tier.getCosts().entrySet()) {
+            if (PATH_MATCHER.match(cost.getKey(), path)) {
+                return cost.getValue();
+            }
+        }
+        return 1;
+    }
+
+    private static String authenticatedPrincipal() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static BucketConfiguration configuration(long capacity, Duration refillPeriod) {
+        return BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(capacity).refillGreedy(capacity, refillPeriod))
+                .build();
+    }
 }
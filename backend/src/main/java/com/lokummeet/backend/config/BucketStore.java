@@ -0,0 +1,21 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+/**
+ * Where {@link BucketFilter} keeps token state. The filter caches the returned handles itself,
+ * so {@link #bucket} is called once per key until the handle is evicted.
+ */
+public interface BucketStore {
+
+    /**
+     * @param configurationVersion increases whenever the tiers are reloaded; shared stores use it to
+     *                             replace the configuration of buckets created with older limits
+     */
+    Bucket bucket(String key, BucketConfiguration configuration, long configurationVersion);
+
+    /** Called when the filter drops a handle, e.g. to flush tokens consumed but not yet synced. */
+    default void release(Bucket bucket) {
+    }
+}
@@ -1,33 +1,103 @@
 package com.lokummeet.backend.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lokummeet.backend.cache.CacheValueLoader;
+import com.lokummeet.backend.service.EventService;
+import com.lokummeet.backend.service.UserService;
 import lombok.experimental.FieldNameConstants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.env.Environment;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
-@CacheConfig
 @Configuration
 @EnableCaching
 public class CachingConfig {
-    private final CacheManager cacheManager;
 
-    public CachingConfig(final CacheManager cacheManager) {
-        this.cacheManager = cacheManager;
+    /**
+     * Builds one Caffeine cache per {@link CacheName}. Each spec can be overridden with
+     * {@code cache.spec.<CACHE_NAME>} using Caffeine's spec syntax. Caches with
+     * {@code refreshAfterWrite} need a {@link CacheValueLoader} bean to reload entries.
+     */
+    @Bean
+    public CacheManager cacheManager(Environment environment, List<CacheValueLoader> loaders) {
+        final Map<CacheName, CacheValueLoader> loadersByCache = loaders.stream()
+                .collect(Collectors.toMap(CacheValueLoader::cacheName, Function.identity()));
+
+        final SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(Arrays.stream(CacheName.values())
+                .map(cacheName -> buildCache(cacheName,
+                        environment.getProperty("cache.spec." + cacheName.name(), cacheName.getDefaultSpec()),
+                        loadersByCache.get(cacheName)))
+                .toList());
+        return cacheManager;
+    }
+
+    @Bean
+    public CacheValueLoader eventDetailLoader(EventService eventService) {
+        return CacheValueLoader.of(CacheName.EVENT_DETAIL, key -> eventService.loadEventDTO((Long) key));
+    }
+
+    @Bean
+    public CacheValueLoader userPrincipalLoader(UserService userService) {
+        return CacheValueLoader.of(CacheName.USER_PRINCIPAL, key -> userService.findPrincipal((String) key));
     }
 
-    @Scheduled(fixedRate = 5000)
-    public void clearCache() {
-        cacheManager.getCacheNames().forEach(cacheName -> Objects.requireNonNull(cacheManager.getCache(cacheName)).clear());
+    @Bean
+    public CacheValueLoader tokenVersionLoader(UserService userService) {
+        return CacheValueLoader.of(CacheName.TOKEN_VERSION, key -> userService.findTokenVersion((Long) key));
+    }
+
+    private CaffeineCache buildCache(CacheName cacheName, String spec, CacheValueLoader loader) {
+        log.info("Cache {} configured with {}", cacheName, spec);
+        final Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+        if (spec.contains("refreshAfterWrite")) {
+            if (loader == null) {
+                throw new IllegalStateException("Cache " + cacheName + " uses refreshAfterWrite but has no CacheValueLoader");
+            }
+            return new CaffeineCache(cacheName.name(), builder.build(loader::load), true);
+        }
+        return new CaffeineCache(cacheName.name(), builder.build(), true);
     }
 
     @FieldNameConstants(onlyExplicitlyIncluded = true)
     public enum CacheName {
-        @FieldNameConstants.Include SOME_EXAMPLE_CACHE
+        @FieldNameConstants.Include EVENT_CARD_FEED("maximumSize=500,expireAfterWrite=10m"),
+        @FieldNameConstants.Include EVENT_CARD_FEED_JSON("maximumSize=200,expireAfterWrite=10m"),
+        /** Size-bounded, so it holds the most requested event details. */
+        @FieldNameConstants.Include EVENT_DETAIL_JSON("maximumSize=500,expireAfterWrite=1h"),
+        @FieldNameConstants.Include EVENT_VERSION("maximumSize=10000,expireAfterWrite=10m"),
+        @FieldNameConstants.Include FEED_VERSION("maximumSize=10,expireAfterWrite=10m"),
+        @FieldNameConstants.Include EVENT_SEARCH("maximumSize=2000,expireAfterWrite=1m"),
+        /** One list per category plus one across all; the building blocks of every personalized feed. */
+        @FieldNameConstants.Include CATEGORY_FEED_LIST("maximumSize=20,expireAfterWrite=10m"),
+        /** Keyed by {@code FeedKey}, so users with the same favorites and age share an entry. */
+        @FieldNameConstants.Include PERSONAL_FEED("maximumSize=5000,expireAfterWrite=10m"),
+        @FieldNameConstants.Include FEED_PROFILE("maximumSize=10000,expireAfterWrite=5m"),
+        @FieldNameConstants.Include EVENT_DETAIL("maximumSize=5000,expireAfterWrite=1h,refreshAfterWrite=5m"),
+        @FieldNameConstants.Include USER_PRINCIPAL("maximumSize=10000,expireAfterWrite=5m,refreshAfterWrite=30s"),
+        @FieldNameConstants.Include USER_PROFILE("maximumSize=10000,expireAfterWrite=5m"),
+        @FieldNameConstants.Include TOKEN_VERSION("maximumSize=100000,expireAfterWrite=10m,refreshAfterWrite=30s");
+
+        private final String defaultSpec;
+
+        CacheName(String defaultSpec) {
+            this.defaultSpec = defaultSpec;
+        }
+
+        public String getDefaultSpec() {
+            return defaultSpec;
+        }
     }
 }
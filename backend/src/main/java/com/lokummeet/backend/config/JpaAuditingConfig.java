@@ -0,0 +1,21 @@
+package com.lokummeet.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/** Fills {@code @CreatedDate}/{@code @LastModifiedDate} on entities listening with {@code AuditingEntityListener}. */
+@Configuration
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
+public class JpaAuditingConfig {
+
+    /** The default provider yields {@code LocalDateTime}, which cannot be written to our {@code OffsetDateTime} columns. */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,19 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+/** In-process buckets; each replica enforces the limits on its own. */
+public class LocalBucketStore implements BucketStore {
+
+    @Override
+    public Bucket bucket(String key, BucketConfiguration configuration, long configurationVersion) {
+        final LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+}
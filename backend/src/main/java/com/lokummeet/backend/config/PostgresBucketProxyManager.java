@@ -0,0 +1,158 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.BucketExceptions;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.AbstractSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.LockAndGetResult;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.SelectForUpdateBasedTransaction;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Optional;
+
+/**
+ * bucket4j proxy manager over the {@code rate_limit_buckets} table, using {@code SELECT ... FOR UPDATE}
+ * to serialize replicas on the same bucket. Written against bucket4j-core because the PostgreSQL module
+ * is not published for the core version we use; it follows the same transaction protocol.
+ */
+public class PostgresBucketProxyManager extends AbstractSelectForUpdateBasedProxyManager<String> {
+    private static final String SELECT_FOR_UPDATE = "SELECT state FROM rate_limit_buckets WHERE id = ? FOR UPDATE";
+    private static final String INSERT_EMPTY = "INSERT INTO rate_limit_buckets (id) VALUES (?) ON CONFLICT (id) DO NOTHING";
+    private static final String UPDATE = "UPDATE rate_limit_buckets SET state = ?, expires_at = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM rate_limit_buckets WHERE id = ?";
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM rate_limit_buckets WHERE id IN (
+                SELECT id FROM rate_limit_buckets WHERE expires_at < ? LIMIT ? FOR UPDATE SKIP LOCKED)""";
+
+    private final DataSource dataSource;
+
+    public PostgresBucketProxyManager(DataSource dataSource, ExpirationAfterWriteStrategy expiration) {
+        super(ClientSideConfig.getDefault().withExpirationAfterWriteStrategy(expiration));
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean isExpireAfterWriteSupported() {
+        return true;
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, key);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+    }
+
+    /** Deletes up to {@code batchSize} rows whose buckets have fully refilled; returns how many went. */
+    public int removeExpired(int batchSize) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_EXPIRED)) {
+            statement.setLong(1, System.currentTimeMillis());
+            statement.setInt(2, batchSize);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+    }
+
+    @Override
+    protected SelectForUpdateBasedTransaction allocateTransaction(String key, Optional<Long> requestTimeoutNanos) {
+        final Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+
+        return new SelectForUpdateBasedTransaction() {
+            @Override
+            public void begin(Optional<Long> timeoutNanos) {
+                try {
+                    connection.setAutoCommit(false);
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public LockAndGetResult tryLockAndGet(Optional<Long> timeoutNanos) {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_FOR_UPDATE)) {
+                    applyTimeout(statement, timeoutNanos);
+                    statement.setString(1, key);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next() ? LockAndGetResult.locked(rs.getBytes("state")) : LockAndGetResult.notLocked();
+                    }
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public boolean tryInsertEmptyData(Optional<Long> timeoutNanos) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_EMPTY)) {
+                    applyTimeout(statement, timeoutNanos);
+                    statement.setString(1, key);
+                    return statement.executeUpdate() > 0;
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void update(byte[] data, RemoteBucketState newState, Optional<Long> timeoutNanos) {
+                try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                    applyTimeout(statement, timeoutNanos);
+                    statement.setBytes(1, data);
+                    final Optional<ExpirationAfterWriteStrategy> expiration = getClientSideConfig().getExpirationAfterWriteStrategy();
+                    if (expiration.isPresent()) {
+                        final long ttlMillis = expiration.get().calculateTimeToLiveMillis(newState, currentTimeNanos());
+                        statement.setLong(2, System.currentTimeMillis() + ttlMillis);
+                    } else {
+                        statement.setNull(2, Types.BIGINT);
+                    }
+                    statement.setString(3, key);
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void commit(Optional<Long> timeoutNanos) {
+                try {
+                    connection.commit();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void rollback() {
+                try {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+
+            @Override
+            public void release() {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    throw new BucketExceptions.BucketExecutionException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.lokummeet.backend.config;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code /actuator/ratelimits}: shows the active tiers and changes a tier's limits at runtime,
+ * e.g. {@code POST /actuator/ratelimits/auth {"capacity": 5, "refillPeriod": "PT1M"}}.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+public class RateLimitEndpoint {
+    private final BucketFilter bucketFilter;
+
+    public RateLimitEndpoint(BucketFilter bucketFilter) {
+        this.bucketFilter = bucketFilter;
+    }
+
+    @ReadOperation
+    public List<RateLimitProperties.Tier> tiers() {
+        return bucketFilter.getTiers();
+    }
+
+    @WriteOperation
+    public RateLimitProperties.Tier update(@Selector String tier,
+                                           @Nullable Long capacity,
+                                           @Nullable Long authenticatedCapacity,
+                                           @Nullable Duration refillPeriod) {
+        final List<RateLimitProperties.Tier> tiers = new ArrayList<>(bucketFilter.getTiers());
+        for (int i = 0; i < tiers.size(); i++) {
+            final RateLimitProperties.Tier current = tiers.get(i);
+            if (current.getName().equals(tier)) {
+                final RateLimitProperties.Tier updated = new RateLimitProperties.Tier();
+                updated.setName(current.getName());
+                updated.setPatterns(current.getPatterns());
+                updated.setCosts(current.getCosts());
+                updated.setCapacity(capacity != null ? capacity : current.getCapacity());
+                updated.setAuthenticatedCapacity(authenticatedCapacity != null ? authenticatedCapacity : current.getAuthenticatedCapacity());
+                updated.setRefillPeriod(refillPeriod != null ? refillPeriod : current.getRefillPeriod());
+                tiers.set(i, updated);
+                try {
+                    bucketFilter.reload(tiers);
+                } catch (IllegalArgumentException e) {
+                    // answered with a 400; the active tiers stay as they were
+                    throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+                }
+                return updated;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.lokummeet.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate-limit tiers, matched in order against the request path; the first tier with a matching
+ * pattern applies. Each tier keeps its own bucket per caller: the authenticated principal when
+ * there is one, the remote address otherwise.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private long maxBuckets = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(1);
+    private List<Tier> tiers = new ArrayList<>();
+    /** {@code local} keeps buckets per replica; {@code postgres} shares them through the app database. */
+    private Store store = Store.LOCAL;
+    private Shared shared = new Shared();
+
+    public enum Store { LOCAL, POSTGRES }
+
+    @Data
+    public static class Shared {
+        /** Tokens a replica may consume locally before syncing with the shared store. */
+        private long maxUnsyncedTokens = 10;
+        /** Longest a replica holds consumed tokens before syncing. */
+        private Duration maxUnsyncedTime = Duration.ofMillis(500);
+        /** How often fully refilled buckets are deleted from the store. */
+        private Duration cleanupInterval = Duration.ofMinutes(5);
+        private int cleanupBatchSize = 10_000;
+    }
+
+    @Data
+    public static class Tier {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        /** Tokens per refill period for anonymous callers, keyed by IP. */
+        private long capacity = 50;
+        /** Tokens per refill period for authenticated callers; defaults to {@link #capacity}. */
+        private Long authenticatedCapacity;
+        private Duration refillPeriod = Duration.ofSeconds(1);
+        /** Tokens consumed per request for paths matching a key; other paths in the tier cost 1. */
+        private Map<String, Long> costs = new LinkedHashMap<>();
+
+        public long capacityFor(boolean authenticated) {
+            return authenticated && authenticatedCapacity != null ? authenticatedCapacity : capacity;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/** Picks the {@link BucketStore} from {@code rate-limit.store}; local unless configured otherwise. */
+@Configuration
+public class RateLimitStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public BucketStore localBucketStore() {
+        return new LocalBucketStore();
+    }
+
+    @Slf4j
+    @Configuration
+    @ConditionalOnProperty(name = "rate-limit.store", havingValue = "postgres")
+    static class Postgres {
+        private final PostgresBucketProxyManager proxyManager;
+        private final RateLimitProperties.Shared shared;
+
+        Postgres(DataSource dataSource, RateLimitProperties properties) {
+            this.shared = properties.getShared();
+            this.proxyManager = new PostgresBucketProxyManager(dataSource,
+                    ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(properties.getIdleTimeout()));
+        }
+
+        @Bean
+        public BucketStore sharedBucketStore() {
+            return new SharedBucketStore(proxyManager,
+                    new DelayParameters(shared.getMaxUnsyncedTokens(), shared.getMaxUnsyncedTime()));
+        }
+
+        @Scheduled(fixedDelayString = "${rate-limit.shared.cleanup-interval:5m}")
+        void removeExpiredBuckets() {
+            final int removed = proxyManager.removeExpired(shared.getCleanupBatchSize());
+            if (removed > 0) {
+                log.debug("Removed {} expired rate-limit buckets", removed);
+            }
+        }
+    }
+}
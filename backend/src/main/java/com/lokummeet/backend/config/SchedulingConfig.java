@@ -0,0 +1,10 @@
+package com.lokummeet.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Runs the {@code @Scheduled} background jobs, which are declared next to the state they maintain. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,6 +3,8 @@ package com.lokummeet.backend.config;
 import com.lokummeet.backend.auth.OAuth2LoginSuccessHandler;
 import com.lokummeet.backend.auth.OAuth2LogoutSuccessHandler;
 import com.lokummeet.backend.filter.JwtAuthFilter;
+import com.lokummeet.backend.idempotency.IdempotencyFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,13 +25,19 @@ import org.springframework.security.config.annotation.authentication.configurati
 @EnableWebSecurity
 public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
+    private final BucketFilter bucketFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
 
     public SecurityConfig(JwtAuthFilter jwtAuthFilter,
+                          BucketFilter bucketFilter,
+                          IdempotencyFilter idempotencyFilter,
                           UserDetailsService userDetailsService,
                           PasswordEncoder passwordEncoder) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.bucketFilter = bucketFilter;
+        this.idempotencyFilter = idempotencyFilter;
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
     }
@@ -46,9 +54,16 @@ public class SecurityConfig {
                         .requestMatchers("/auth/addNewUser", "/auth/generateToken").permitAll()
                         .requestMatchers("/auth/user/**").hasAuthority("ROLE_USER")
                         .requestMatchers("/auth/admin/**").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers("/api/partner/**").hasAnyAuthority("ROLE_PARTNER", "ROLE_ADMIN")
                         .requestMatchers("/auth/institutionAdmin/**").hasAuthority("ROLE_INSTITUTION_ADMIN")
+                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated()
                 )
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(bucketFilter, JwtAuthFilter.class)
+                .addFilterAfter(idempotencyFilter, BucketFilter.class)
                 .oauth2Login(oauth2 -> oauth2
                         .successHandler(oAuth2LoginSuccessHandler))
                 .logout(logout -> logout
@@ -57,6 +72,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /** The bucket filter runs inside the security chain only; a servlet-level copy would see no principal. */
+    @Bean
+    public FilterRegistrationBean<BucketFilter> bucketFilterRegistration() {
+        FilterRegistrationBean<BucketFilter> registration = new FilterRegistrationBean<>(bucketFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /** Same for idempotency keys, which are scoped to the principal. */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration() {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
@@ -0,0 +1,44 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.TokensInheritanceStrategy;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buckets shared by every replica through a bucket4j {@link ProxyManager}. Each handle consumes
+ * locally and syncs with the store once it has used {@code maxUnsyncedTokens} or
+ * {@code maxUnsyncedTime} has passed, so the store sees one round trip per batch instead of one per
+ * request. The cluster can overshoot a limit by at most one unsynced batch per replica.
+ */
+@Slf4j
+public class SharedBucketStore implements BucketStore {
+    private final ProxyManager<String> proxyManager;
+    private final DelayParameters delay;
+
+    public SharedBucketStore(ProxyManager<String> proxyManager, DelayParameters delay) {
+        this.proxyManager = proxyManager;
+        this.delay = delay;
+    }
+
+    @Override
+    public Bucket bucket(String key, BucketConfiguration configuration, long configurationVersion) {
+        return proxyManager.builder()
+                .withOptimization(Optimizations.delaying(delay))
+                .withImplicitConfigurationReplacement(configurationVersion, TokensInheritanceStrategy.ADDITIVE)
+                .build(key, () -> configuration);
+    }
+
+    @Override
+    public void release(Bucket bucket) {
+        try {
+            ((BucketProxy) bucket).getOptimizationController().syncImmediately();
+        } catch (RuntimeException e) {
+            log.warn("Could not sync rate-limit bucket on release", e);
+        }
+    }
+}
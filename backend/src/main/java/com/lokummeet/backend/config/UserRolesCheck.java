@@ -0,0 +1,45 @@
+package com.lokummeet.backend.config;
+
+import com.lokummeet.backend.entity.UserRoles;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate lists the role names in a check constraint when it creates {@code user_roles}, and
+ * {@code ddl-auto=update} never widens it. This does, once, after a role is added to {@link UserRoles};
+ * otherwise assigning the new role fails.
+ */
+@Slf4j
+@Component
+public class UserRolesCheck {
+    private static final String CONSTRAINT = "user_roles_user_roles_check";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserRolesCheck(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void widen() {
+        final List<String> current = jdbcTemplate.queryForList("""
+                select pg_get_constraintdef(oid) from pg_constraint
+                where conrelid = 'user_roles'::regclass and conname = ?""", String.class, CONSTRAINT);
+        if (current.isEmpty() || Arrays.stream(UserRoles.values()).allMatch(role -> current.getFirst().contains("'" + role + "'"))) {
+            return;
+        }
+        final String allowed = Arrays.stream(UserRoles.values())
+                .map(role -> "'" + role + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("alter table user_roles drop constraint " + CONSTRAINT
+                + ", add constraint " + CONSTRAINT + " check (user_roles in (" + allowed + "))");
+        log.info("Allowed roles in user_roles are now {}", allowed);
+    }
+}
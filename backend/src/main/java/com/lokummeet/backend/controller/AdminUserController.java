@@ -0,0 +1,45 @@
+package com.lokummeet.backend.controller;
+
+import com.lokummeet.backend.entity.UserRoles;
+import com.lokummeet.backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * Account moderation for admins; see {@code SecurityConfig} for the role check. Every change here
+ * invalidates the user's issued tokens, so it applies to their very next request.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+    private final UserService userService;
+
+    @PostMapping("/{id}/revokeTokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{id}/banned")
+    public ResponseEntity<Void> setBanned(@PathVariable Long id, @RequestParam boolean banned) {
+        userService.setBanned(id, banned);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Replaces the user's roles with the given set. */
+    @PutMapping("/{id}/roles")
+    public ResponseEntity<Void> setRoles(@PathVariable Long id, @RequestBody Set<UserRoles> roles) {
+        userService.setRoles(id, roles);
+        return ResponseEntity.noContent().build();
+    }
+}
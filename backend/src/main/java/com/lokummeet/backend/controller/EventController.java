@@ -1,35 +1,193 @@
 package com.lokummeet.backend.controller;
 
+import com.lokummeet.backend.ApiException;
+import com.lokummeet.backend.cache.EncodedResponse;
+import com.lokummeet.backend.cache.EncodedResponseCache;
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.dto.ContentVersion;
+import com.lokummeet.backend.dto.CursorPageDTO;
 import com.lokummeet.backend.dto.EventCardDTO;
 import com.lokummeet.backend.dto.EventDTO;
-import com.lokummeet.backend.repository.EventRepository;
+import com.lokummeet.backend.dto.NearbyEventDTO;
+import com.lokummeet.backend.entity.EventCategory;
+import com.lokummeet.backend.facet.CategoryFacets;
+import com.lokummeet.backend.geo.NearbySort;
+import com.lokummeet.backend.service.EventBatchService;
 import com.lokummeet.backend.service.EventService;
+import com.lokummeet.backend.service.UserService;
+import com.lokummeet.backend.views.EventViews;
+import com.lokummeet.backend.views.TrendingWindow;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Public event reads. Both endpoints check {@code If-None-Match}/{@code If-Modified-Since} against
+ * a cached version stamp first, so revalidating unchanged data never loads, maps or serializes events.
+ */
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/public/events")
 public class EventController {
-    private final EventRepository eventRepository;
     private final EventService eventService;
+    private final EncodedResponseCache encodedResponseCache;
+    private final UserService userService;
+    private final CategoryFacets categoryFacets;
+    private final EventBatchService eventBatchService;
+    private final EventViews eventViews;
 
-    @GetMapping("/latest")
-    public List<EventCardDTO> getLatestEvents() {
-        return eventRepository.findByDateEventAfter(LocalDate.now(), Sort.by(Sort.Direction.ASC, "dateEvent"))
-                .stream()
-                .map(eventService::getEventCardDTO)
-                .toList();
+    @Value("${events.nearby.default-radius-km:10}")
+    private double defaultNearbyRadiusKm;
+
+    @Value("${events.http-cache.max-age:30s}")
+    private Duration maxAge;
+
+    @Value("${events.http-cache.stale-while-revalidate:5m}")
+    private Duration staleWhileRevalidate;
+
+    /** Body is a {@code CursorPageDTO<EventCardDTO>}, served pre-encoded from {@code EVENT_CARD_FEED_JSON}. */
+    @GetMapping(value = "/latest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getLatestEvents(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int limit,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                  WebRequest request) {
+        final LocalDate today = LocalDate.now();
+        final ContentVersion version = eventService.feedVersion(today);
+        if (notModified(request, version)) {
+            return notModifiedResponse();
+        }
+        // the version is part of the key, so a page never outlives the feed state it was rendered from
+        final EncodedResponse body = encodedResponseCache.get(CacheName.EVENT_CARD_FEED_JSON,
+                version.getEtag() + ':' + limit + ':' + cursor,
+                () -> eventService.getLatestEventCards(today, cursor, limit));
+        return encoded(version, body, acceptEncoding);
+    }
+
+    @GetMapping("/search")
+    public CursorPageDTO<EventCardDTO> searchEvents(@RequestParam String q,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return eventService.searchEvents(LocalDate.now(), q, cursor, limit);
+    }
+
+    /** Upcoming events per category, from in-memory counters; never queries the database. */
+    @GetMapping("/facets/categories")
+    public Map<EventCategory, Long> getCategoryFacets() {
+        return categoryFacets.counts();
+    }
+
+    /**
+     * Upcoming events around a point. Without {@code radiusKm}, signed-in users get their preferred
+     * distance and everyone else {@code events.nearby.default-radius-km}.
+     */
+    @GetMapping("/nearby")
+    public List<NearbyEventDTO> getNearbyEvents(@RequestParam double lat,
+                                                @RequestParam double lon,
+                                                @RequestParam(required = false) Double radiusKm,
+                                                @RequestParam(defaultValue = "DISTANCE") NearbySort sort,
+                                                @RequestParam(defaultValue = "20") int limit,
+                                                Authentication authentication) {
+        final double radius = radiusKm != null ? radiusKm : Optional.ofNullable(authentication)
+                .flatMap(user -> userService.findPreferredDistance(user.getName()))
+                .map(Integer::doubleValue)
+                .orElse(defaultNearbyRadiusKm);
+        return eventService.findNearby(lat, lon, radius, sort, limit);
+    }
+
+    /**
+     * Details of up to {@value EventBatchService#MAX_BATCH_SIZE} events in one round trip, in the
+     * order asked for; unknown ids are left out.
+     */
+    @GetMapping("/batch")
+    public List<EventDTO> getEventsByIds(@RequestParam List<Long> ids) {
+        final List<Long> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > EventBatchService.MAX_BATCH_SIZE) {
+            throw ApiException.builder().status(400)
+                    .message("At most " + EventBatchService.MAX_BATCH_SIZE + " ids per request").build();
+        }
+        return eventBatchService.findEventDTOs(distinct);
+    }
+
+    /** Ranked from in-memory view counts and refreshed on every view flush; never queries the database. */
+    @GetMapping("/trending")
+    public List<EventCardDTO> getTrendingEvents(@RequestParam(defaultValue = "HOUR") TrendingWindow window,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return eventViews.trending(window, limit);
+    }
+
+    /** Body is an {@code EventDTO}, served pre-encoded from {@code EVENT_DETAIL_JSON}. */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getEventById(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                               WebRequest request) {
+        final Optional<ContentVersion> version = eventService.findEventVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // a revalidation is a view as well
+        eventViews.record(id);
+        if (notModified(request, version.get())) {
+            return notModifiedResponse();
+        }
+        // keyed by the version like /latest, and loaded past the detail cache, so a body is never
+        // older than the ETag it is cached under even when the version and detail caches disagree
+        final EncodedResponse body = encodedResponseCache.get(CacheName.EVENT_DETAIL_JSON, version.get().getEtag(),
+                () -> eventService.loadEventDTO(id));
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return encoded(version.get(), body, acceptEncoding);
+    }
+
+    private ResponseEntity<byte[]> encoded(ContentVersion version, EncodedResponse body, String acceptEncoding) {
+        final ResponseEntity.BodyBuilder builder = withValidators(ResponseEntity.ok(), version)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (!body.hasGzip()) {
+            return builder.body(body.getJson());
+        }
+        builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return builder.body(body.getJson());
+    }
+
+    private static boolean notModified(WebRequest request, ContentVersion version) {
+        return version.getLastModified() == null
+                ? request.checkNotModified(version.getEtag())
+                : request.checkNotModified(version.getEtag(), version.getLastModified().toEpochMilli());
+    }
+
+    /**
+     * {@code checkNotModified} has already written the validators; the 304 repeats Cache-Control so
+     * a proxy that revalidated keeps serving its copy for another max-age.
+     */
+    private <T> ResponseEntity<T> notModifiedResponse() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl()).build();
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, ContentVersion version) {
+        builder.eTag(version.getEtag()).cacheControl(cacheControl());
+        if (version.getLastModified() != null) {
+            builder.lastModified(version.getLastModified());
+        }
+        return builder;
     }
 
-    @GetMapping("/{id}")
-    public Optional<EventDTO> getEventById(@PathVariable Long id) {
-        return eventRepository.findById(id)
-                .map(eventService::getEventDTO);
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge).cachePublic().staleWhileRevalidate(staleWhileRevalidate);
     }
 }
@@ -0,0 +1,43 @@
+package com.lokummeet.backend.controller;
+
+import com.lokummeet.backend.dto.EventDTO;
+import com.lokummeet.backend.service.EventService;
+import com.lokummeet.backend.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Organizer writes; reads stay under {@code /api/public/events}. */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events")
+public class EventManagementController {
+    private final EventService eventService;
+    private final UserService userService;
+
+    @PostMapping
+    public ResponseEntity<EventDTO> create(@RequestBody EventDTO event, Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(eventService.createEvent(event, userService.loadProfile(authentication.getName())));
+    }
+
+    /** Creator or admin only; fields left out of the body are not changed. */
+    @PutMapping("/{id}")
+    public EventDTO update(@PathVariable Long id, @RequestBody EventDTO event, Authentication authentication) {
+        return eventService.updateEvent(id, event, userService.loadProfile(authentication.getName()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id, Authentication authentication) {
+        eventService.deleteEvent(id, userService.loadProfile(authentication.getName()));
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.lokummeet.backend.controller;
+
+import com.lokummeet.backend.dto.CursorPageDTO;
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.service.FeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events")
+public class FeedController {
+    private final FeedService feedService;
+
+    @GetMapping("/feed")
+    public CursorPageDTO<EventCardDTO> getFeed(Authentication authentication,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        return feedService.getFeed(authentication.getName(), cursor, limit);
+    }
+}
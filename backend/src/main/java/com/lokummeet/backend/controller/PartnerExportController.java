@@ -0,0 +1,41 @@
+package com.lokummeet.backend.controller;
+
+import com.lokummeet.backend.export.ExportFormat;
+import com.lokummeet.backend.service.EventExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/** Bulk reads for partners and admins; see {@code SecurityConfig} for the role check. */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/partner/events")
+public class PartnerExportController {
+    private final EventExportService eventExportService;
+
+    /** Every event on days {@code from..to} as NDJSON or CSV, written while it is read from the database. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                              Authentication authentication,
+                                                              HttpServletRequest request) {
+        final StreamingResponseBody body = eventExportService.export(from, to, format, authentication.getName(), request);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("events-" + from + "-" + to + "." + format.getExtension()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,57 @@
+package com.lokummeet.backend.controller;
+
+import com.lokummeet.backend.dto.AttendeeCountDTO;
+import com.lokummeet.backend.dto.AttendeeDTO;
+import com.lokummeet.backend.dto.CursorPageDTO;
+import com.lokummeet.backend.entity.AttendeeStatus;
+import com.lokummeet.backend.rsvp.JoinResult;
+import com.lokummeet.backend.service.RsvpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events/{id}/attendees")
+public class RsvpController {
+    private final RsvpService rsvpService;
+
+    /** Organizer only; pass {@code status=WAITLISTED} for the waitlist. */
+    @GetMapping
+    public CursorPageDTO<AttendeeDTO> list(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "JOINED") AttendeeStatus status,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int limit,
+                                           Authentication authentication) {
+        return rsvpService.listAttendees(id, authentication.getName(), status, cursor, limit);
+    }
+
+    @GetMapping("/count")
+    public AttendeeCountDTO count(@PathVariable Long id) {
+        return rsvpService.countAttendees(id);
+    }
+
+    /** 202 when the user was put on the waitlist rather than given a seat. */
+    @PostMapping
+    public ResponseEntity<Map<String, JoinResult>> join(@PathVariable Long id, Authentication authentication) {
+        final JoinResult result = rsvpService.join(id, authentication.getName());
+        return ResponseEntity.status(result == JoinResult.WAITLISTED ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .body(Map.of("result", result));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> leave(@PathVariable Long id, Authentication authentication) {
+        rsvpService.leave(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
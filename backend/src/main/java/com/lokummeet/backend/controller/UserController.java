@@ -1,18 +1,22 @@
 package com.lokummeet.backend.controller;
 
-import com.lokummeet.backend.auth.SecurityUtil;
+import com.lokummeet.backend.dto.PasswordChangeRequest;
+import com.lokummeet.backend.dto.UserProfileDTO;
 import com.lokummeet.backend.entity.AuthRequest;
 import com.lokummeet.backend.entity.User;
 import com.lokummeet.backend.repository.UserRepository;
 import com.lokummeet.backend.service.JwtService;
 import com.lokummeet.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,7 +32,6 @@ public class UserController {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final SecurityUtil securityUtil;
 
     @PostMapping("/addNewUser")
     public ResponseEntity<Object> addNewUser(@RequestBody User user) {
@@ -41,7 +44,9 @@ public class UserController {
                 new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
         );
         if (authentication.isAuthenticated()) {
-            return jwtService.generateToken(authRequest.getUsername());
+            final User user = userRepository.findByEmail(authRequest.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("Invalid user request!"));
+            return jwtService.generateToken(user);
         } else {
             throw new UsernameNotFoundException("Invalid user request!");
         }
@@ -62,9 +67,37 @@ public class UserController {
         return map;
     }
 
+    /**
+     * Called on every server render of the frontend, so it answers from the profile cache and
+     * returns {@code 304} when the caller's {@code If-None-Match} still matches.
+     */
     @GetMapping("/me")
-    public ResponseEntity<User> me() {
-        final User user = securityUtil.getManagedUser();
-        return ResponseEntity.ok(user);
+    public ResponseEntity<UserProfileDTO> me(Authentication authentication, WebRequest request) {
+        final UserProfileDTO profile = userService.loadProfile(authentication.getName());
+        final String etag = profile.etag();
+        final CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            // checkNotModified has already written the ETag; adding it again would send the header twice
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(profile);
+    }
+
+    /** Signs out every session of the caller, this one included. */
+    @PostMapping("/password")
+    public ResponseEntity<Void> changePassword(@RequestBody PasswordChangeRequest request, Authentication authentication) {
+        final UserProfileDTO profile = userService.loadProfile(authentication.getName());
+        userService.changePassword(profile.getId(), request.getCurrentPassword(), request.getNewPassword());
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Invalidates every token issued to the caller so far, say after losing a device. */
+    @PostMapping("/revokeTokens")
+    public ResponseEntity<Void> revokeTokens(Authentication authentication) {
+        userService.revokeTokens(userService.loadProfile(authentication.getName()).getId());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,14 @@
+package com.lokummeet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Seats taken, from the counter the join engine maintains, and the event's capacity ({@code null} without a limit). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendeeCountDTO {
+    private Integer joined;
+    private Integer maxCapacity;
+}
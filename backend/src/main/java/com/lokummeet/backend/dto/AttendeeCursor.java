@@ -0,0 +1,28 @@
+package com.lokummeet.backend.dto;
+
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Position of the last attendee on a page, ordered by {@code (joinedAt, userId)}; a user is on an
+ * event at most once, so the pair is unique. Serialized by {@link CursorCodec}.
+ */
+@Value
+public class AttendeeCursor {
+    OffsetDateTime joinedAt;
+    Long userId;
+
+    public static AttendeeCursor of(AttendeeDTO attendee) {
+        return new AttendeeCursor(attendee.getJoinedAt(), attendee.getUserId());
+    }
+
+    public String encode() {
+        return CursorCodec.encode(joinedAt, userId);
+    }
+
+    public static AttendeeCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, 2,
+                parts -> new AttendeeCursor(OffsetDateTime.parse(parts[0]), Long.parseLong(parts[1])));
+    }
+}
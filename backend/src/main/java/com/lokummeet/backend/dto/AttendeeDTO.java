@@ -0,0 +1,20 @@
+package com.lokummeet.backend.dto;
+
+import com.lokummeet.backend.entity.AttendeeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/** One row of an event's attendee list; read by projection so neither {@code EventAttendee} nor {@code User} is loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendeeDTO {
+    private Long userId;
+    private String username;
+    private String avatarUrl;
+    private OffsetDateTime joinedAt;
+    private AttendeeStatus status;
+}
@@ -0,0 +1,15 @@
+package com.lokummeet.backend.dto;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Validators for a public resource: an ETag and, when known, its Last-Modified time. The ETag is
+ * weak because the same version is served both plain and gzip-encoded.
+ */
+@Value
+public class ContentVersion {
+    String etag;
+    Instant lastModified;
+}
@@ -0,0 +1,15 @@
+package com.lokummeet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** What an event page shows about its creator; read by projection so the {@code User} entity is never loaded. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatorSummaryDTO {
+    private Long id;
+    private String username;
+    private String avatarUrl;
+}
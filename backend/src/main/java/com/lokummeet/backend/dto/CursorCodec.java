@@ -0,0 +1,43 @@
+package com.lokummeet.backend.dto;
+
+import com.lokummeet.backend.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Wire format shared by the keyset cursors: the position's fields joined with {@code |} and
+ * serialized as url-safe base64, so clients treat the cursor as opaque.
+ */
+final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    static String encode(Object... fields) {
+        final String raw = Arrays.stream(fields).map(String::valueOf).collect(Collectors.joining("|"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Splits {@code cursor} into exactly {@code fields} parts and parses them; anything malformed is a 400. */
+    static <T> T decode(String cursor, int fields, Function<String[], T> parser) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = raw.split("\\|");
+            if (parts.length != fields) {
+                throw invalid();
+            }
+            return parser.apply(parts);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static ApiException invalid() {
+        return ApiException.builder().status(400).message("Invalid cursor").build();
+    }
+}
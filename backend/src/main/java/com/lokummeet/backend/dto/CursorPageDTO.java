@@ -0,0 +1,35 @@
+package com.lokummeet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code next} is an opaque cursor to pass back
+ * for the following page and is {@code null} once the listing is exhausted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String next;
+
+    /**
+     * Page from {@code rows} fetched with a limit of {@code pageSize + 1}: the extra row tells whether
+     * another page exists without a COUNT query, and is dropped here.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int pageSize, Function<T, String> cursor) {
+        return of(rows, pageSize, Function.identity(), cursor);
+    }
+
+    /** As {@link #of(List, int, Function)}, for rows that carry more than the item, such as a sort key. */
+    public static <R, T> CursorPageDTO<T> of(List<R> rows, int pageSize, Function<R, T> item, Function<R, String> cursor) {
+        final boolean hasMore = rows.size() > pageSize;
+        final List<R> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return new CursorPageDTO<>(page.stream().map(item).toList(), hasMore ? cursor.apply(page.getLast()) : null);
+    }
+}
@@ -1,12 +1,21 @@
 package com.lokummeet.backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class EventCardDTO {
+    /** Cards only show a preview; repository projections cut the description to this many characters. */
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
     private Long id;
+    private LocalDate dateEvent;
     private LocalDateTime startTime;
     private String title;
     private String description;
@@ -0,0 +1,30 @@
+package com.lokummeet.backend.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Position of the last event on a page, ordered by {@code (dateEvent, startTime, id)}.
+ * Serialized by {@link CursorCodec}.
+ */
+@Value
+public class EventCursor {
+    LocalDate dateEvent;
+    LocalDateTime startTime;
+    Long id;
+
+    public static EventCursor of(EventCardDTO card) {
+        return new EventCursor(card.getDateEvent(), card.getStartTime(), card.getId());
+    }
+
+    public String encode() {
+        return CursorCodec.encode(dateEvent, startTime, id);
+    }
+
+    public static EventCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, 3,
+                parts -> new EventCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2])));
+    }
+}
@@ -1,7 +1,6 @@
 package com.lokummeet.backend.dto;
 
 import com.lokummeet.backend.entity.EventCategory;
-import com.lokummeet.backend.entity.User;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -9,9 +8,12 @@ import java.time.LocalDateTime;
 
 @Data
 public class EventDTO {
+    private Long id;
     private String title;
     private String description;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private LocalDate dateEvent;
@@ -19,7 +21,7 @@ public class EventDTO {
     private EventCategory category;
     private String imageUrl;
     private String imageFilename;
-    private User createdBy;
+    private CreatorSummaryDTO createdBy;
     private Integer minAge;
     private Integer maxAge;
 }
@@ -0,0 +1,9 @@
+package com.lokummeet.backend.dto;
+
+import java.time.LocalDateTime;
+
+public interface EventVersionView {
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+}
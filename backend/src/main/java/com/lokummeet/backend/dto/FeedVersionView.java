@@ -0,0 +1,10 @@
+package com.lokummeet.backend.dto;
+
+import java.time.LocalDateTime;
+
+/** Row count and newest change across all events; any insert, update or delete moves one of them. */
+public interface FeedVersionView {
+    Long getCount();
+
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,13 @@
+package com.lokummeet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyEventDTO {
+    private EventCardDTO event;
+    private double distanceKm;
+}
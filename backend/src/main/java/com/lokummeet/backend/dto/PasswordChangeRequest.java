@@ -0,0 +1,13 @@
+package com.lokummeet.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordChangeRequest {
+    private String currentPassword;
+    private String newPassword;
+}
@@ -0,0 +1,27 @@
+package com.lokummeet.backend.dto;
+
+import lombok.Value;
+
+/**
+ * Position of the last result on a search page, ordered by {@code (rank desc, id)}.
+ * Serialized by {@link CursorCodec}.
+ */
+@Value
+public class SearchCursor {
+    float rank;
+    long id;
+
+    public String encode() {
+        return CursorCodec.encode(Float.floatToIntBits(rank), id);
+    }
+
+    public static SearchCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, 2,
+                parts -> new SearchCursor(Float.intBitsToFloat(Integer.parseInt(parts[0])), Long.parseLong(parts[1])));
+    }
+
+    /** True when a result with this rank and id sorts after the cursor. */
+    public boolean precedes(float otherRank, long otherId) {
+        return otherRank < rank || (otherRank == rank && otherId > id);
+    }
+}
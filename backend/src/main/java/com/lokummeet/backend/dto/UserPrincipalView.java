@@ -0,0 +1,17 @@
+package com.lokummeet.backend.dto;
+
+import com.lokummeet.backend.entity.UserRoles;
+
+/**
+ * One row per role of a user: just what the bearer-token filter needs to build a principal,
+ * without touching the eagerly fetched collections on {@code User}.
+ */
+public interface UserPrincipalView {
+    Long getId();
+
+    String getEmail();
+
+    Boolean getBanned();
+
+    UserRoles getRole();
+}
@@ -0,0 +1,27 @@
+package com.lokummeet.backend.dto;
+
+import com.lokummeet.backend.entity.UserRoles;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+/** What {@code /api/auth/me} returns: the signed-in user without credentials or linked collections. */
+@Data
+public class UserProfileDTO {
+    private Long id;
+    private String username;
+    private String email;
+    private String avatarUrl;
+    private String bio;
+    private boolean verified;
+    private boolean banned;
+    private Set<UserRoles> userRoles;
+    private OffsetDateTime updatedAt;
+
+    /** Strong validator; {@code updatedAt} moves on every save of the user row. */
+    public String etag() {
+        final long version = updatedAt == null ? 0 : updatedAt.toInstant().toEpochMilli();
+        return "\"" + id + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,26 @@
+package com.lokummeet.backend.dto;
+
+import com.lokummeet.backend.entity.UserRoles;
+
+import java.time.OffsetDateTime;
+
+/** One row per role of a user, with the scalar columns {@link UserProfileDTO} needs. */
+public interface UserProfileView {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getAvatarUrl();
+
+    String getBio();
+
+    Boolean getVerified();
+
+    Boolean getBanned();
+
+    OffsetDateTime getUpdatedAt();
+
+    UserRoles getRole();
+}
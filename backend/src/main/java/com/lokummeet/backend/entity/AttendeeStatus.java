@@ -0,0 +1,8 @@
+package com.lokummeet.backend.entity;
+
+public enum AttendeeStatus {
+    /** Holds one of the event's {@code maxCapacity} seats. */
+    JOINED,
+    /** Queued for a seat; promoted in {@code event_attendees.id} order. */
+    WAITLISTED
+}
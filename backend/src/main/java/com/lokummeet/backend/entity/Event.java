@@ -1,13 +1,22 @@
 package com.lokummeet.backend.entity;
 
+import com.lokummeet.backend.geo.GeoHash;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_date_start_id", columnList = "date_event, start_time, id"),
+        @Index(name = "idx_events_geo_cell_date", columnList = "geo_cell, date_event")
+})
 @Data
+@EntityListeners(AuditingEntityListener.class)
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +32,14 @@ public class Event {
     @Column(length = 500, nullable = false)
     private String location;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    /** {@link GeoHash} cell of the coordinates; kept in step by {@link #updateGeoCell()}. */
+    @Column(name = "geo_cell")
+    private Long geoCell;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
@@ -63,8 +80,17 @@ public class Event {
     private Integer maxAge = 150;
 
     @Column(name = "created_at", updatable = false)
+    @CreatedDate
     private LocalDateTime createdAt;
 
+    /** Source of the public ETag and Last-Modified headers. */
     @Column(name = "updated_at")
+    @LastModifiedDate
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void updateGeoCell() {
+        geoCell = latitude == null || longitude == null ? null : GeoHash.encode(latitude, longitude);
+    }
+}
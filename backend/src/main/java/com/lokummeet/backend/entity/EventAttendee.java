@@ -6,7 +6,15 @@ import lombok.Data;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "event_attendees")
+@Table(name = "event_attendees", uniqueConstraints = {
+        // one row per user and event; joins rely on it for ON CONFLICT
+        @UniqueConstraint(name = "uk_event_attendees_event_user", columnNames = {"event_id", "user_id"})
+}, indexes = {
+        // the waitlist of an event, oldest first
+        @Index(name = "idx_event_attendees_event_status_id", columnList = "event_id, status, id"),
+        // attendee listing pages, in joining order
+        @Index(name = "idx_event_attendees_event_status_joined_at", columnList = "event_id, status, joined_at, user_id")
+})
 @Data
 public class EventAttendee {
     @Id
@@ -24,6 +32,7 @@ public class EventAttendee {
     @Column(name = "joined_at")
     private OffsetDateTime joinedAt = OffsetDateTime.now();
 
+    @Enumerated(EnumType.STRING)
     @Column(length = 50)
-    private String status = "JOINED";
+    private AttendeeStatus status = AttendeeStatus.JOINED;
 }
\ No newline at end of file
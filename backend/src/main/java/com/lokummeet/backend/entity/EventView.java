@@ -0,0 +1,20 @@
+package com.lokummeet.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Total detail-page views of an event, written in batches by {@link com.lokummeet.backend.views.EventViewStore}.
+ * Mapped only so the table is managed with the rest of the schema.
+ */
+@Entity
+@Table(name = "event_views")
+@Data
+public class EventView {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long views = 0L;
+}
@@ -0,0 +1,46 @@
+package com.lokummeet.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Shared idempotency key, written by {@link com.lokummeet.backend.idempotency.PostgresIdempotencyStore}
+ * when {@code idempotency.store=postgres}. Mapped only so the table is managed with the rest of the schema.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Data
+public class IdempotencyKey {
+    /** The caller's scope and the header value. */
+    @Id
+    @Column(length = 600)
+    private String id;
+
+    /** SHA-256 of the method, path and body of the request that claimed the key. */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /** {@code null} while the first request is running. */
+    private Integer status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    private byte[] body;
+
+    /** Set on every claim and take-over; only its holder may complete or release the key. */
+    @Column(name = "lease_token")
+    private UUID leaseToken;
+
+    /** When a running claim lapses and another replica may take the key over. */
+    @Column(name = "locked_until")
+    private OffsetDateTime lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+}
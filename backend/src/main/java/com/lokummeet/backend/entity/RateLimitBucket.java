@@ -0,0 +1,25 @@
+package com.lokummeet.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Shared rate-limit bucket state, written by {@link com.lokummeet.backend.config.PostgresBucketProxyManager}
+ * when {@code rate-limit.store=postgres}. Mapped only so the table is managed with the rest of the schema.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+        @Index(name = "idx_rate_limit_buckets_expires_at", columnList = "expires_at")
+})
+@Data
+public class RateLimitBucket {
+    @Id
+    @Column(length = 320)
+    private String id;
+
+    private byte[] state;
+
+    /** Epoch millis after which the bucket is full again and the row can be dropped. */
+    @Column(name = "expires_at")
+    private Long expiresAt;
+}
@@ -7,6 +7,7 @@ import lombok.*;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
@@ -17,6 +18,7 @@ import java.util.*;
 
 @Table(name = "users")
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -69,6 +71,10 @@ public class User {
     @Setter
     private boolean banned = false;
 
+    /** Bumped to revoke every JWT issued to this user; tokens carry the version they were issued with. */
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion = 0;
+
     @Column(name = "created_at")
     @CreatedDate
     private OffsetDateTime createdAt;
@@ -5,7 +5,9 @@ import org.springframework.security.core.GrantedAuthority;
 public enum UserRoles implements GrantedAuthority {
     ROLE_USER,
     ROLE_INSTITUTION,
-    ROLE_ADMIN ;
+    ROLE_ADMIN,
+    /** Reads bulk data such as the event export. */
+    ROLE_PARTNER;
 
     @Override
     public String getAuthority() {
@@ -0,0 +1,60 @@
+package com.lokummeet.backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/** RFC 4180 CSV with a header row; fields are quoted only when they need to be. */
+class CsvExportWriter implements EventExportWriter {
+    static final String HEADER = "id,title,description,location,latitude,longitude,date_event,"
+            + "start_time,end_time,category,max_capacity,min_age,max_age,created_by";
+
+    private final Writer out;
+
+    CsvExportWriter(OutputStream out) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.out.write(HEADER);
+        this.out.write("\r\n");
+    }
+
+    @Override
+    public void write(EventExportRow row) throws IOException {
+        field(row.id());
+        field(row.title());
+        field(row.description());
+        field(row.location());
+        field(row.latitude());
+        field(row.longitude());
+        field(row.dateEvent());
+        field(row.startTime());
+        field(row.endTime());
+        field(row.category());
+        field(row.maxCapacity());
+        field(row.minAge());
+        field(row.maxAge());
+        out.write(row.createdBy() == null ? "" : row.createdBy().toString());
+        out.write("\r\n");
+    }
+
+    private void field(Object value) throws IOException {
+        if (value != null) {
+            out.write(escape(value.toString()));
+        }
+        out.write(',');
+    }
+
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,13 @@
+package com.lokummeet.backend.export;
+
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** One exported event; read by projection so streaming never fills the persistence context. */
+public record EventExportRow(Long id, String title, String description, String location,
+                             Double latitude, Double longitude, LocalDate dateEvent,
+                             LocalDateTime startTime, LocalDateTime endTime, EventCategory category,
+                             Integer maxCapacity, Integer minAge, Integer maxAge, Long createdBy) {
+}
@@ -0,0 +1,12 @@
+package com.lokummeet.backend.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes rows to the response as they come. Closing flushes what is buffered but leaves the
+ * underlying stream open for the servlet container.
+ */
+public interface EventExportWriter extends Closeable {
+    void write(EventExportRow row) throws IOException;
+}
@@ -0,0 +1,62 @@
+package com.lokummeet.backend.export;
+
+import jakarta.servlet.AsyncContext;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns the container's async timeout into an idle timeout for one streamed response: whenever
+ * bytes go out, the deadline moves to {@code idleTimeout} past now. A client that stops reading
+ * blocks the write and a stuck cursor stops writing, so either one times the request out, while an
+ * export that keeps moving may take as long as it needs.
+ */
+public class IdleTimeoutOutputStream extends FilterOutputStream {
+    private final AsyncContext asyncContext;
+    private final long idleTimeoutNanos;
+    private final long startedAt;
+    private long extendedAt;
+
+    public IdleTimeoutOutputStream(OutputStream out, AsyncContext asyncContext, Duration idleTimeout) {
+        super(out);
+        this.asyncContext = asyncContext;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.startedAt = System.nanoTime();
+        extend(startedAt);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        progressed();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        progressed();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+        progressed();
+    }
+
+    private void progressed() {
+        final long now = System.nanoTime();
+        // moving the deadline on every small write buys nothing; a tenth of the timeout is close enough
+        if (now - extendedAt >= idleTimeoutNanos / 10) {
+            extend(now);
+        }
+    }
+
+    private void extend(long now) {
+        extendedAt = now;
+        // the container counts the timeout from the start of async processing, not from this call
+        asyncContext.setTimeout(TimeUnit.NANOSECONDS.toMillis(now - startedAt + idleTimeoutNanos));
+    }
+}
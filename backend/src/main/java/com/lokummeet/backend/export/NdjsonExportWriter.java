@@ -0,0 +1,35 @@
+package com.lokummeet.backend.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** One JSON object per line, in the same shape the API uses elsewhere. */
+class NdjsonExportWriter implements EventExportWriter {
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        // the generator's buffer decides when bytes reach the socket, not every row
+        this.writer = objectMapper.writerFor(EventExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(EventExportRow row) throws IOException {
+        writer.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
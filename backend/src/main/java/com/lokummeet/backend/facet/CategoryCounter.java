@@ -0,0 +1,130 @@
+package com.lokummeet.backend.facet;
+
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Upcoming-event counts per category, kept as per-day counters plus a running total per category.
+ * A read rolls the days that have passed out of the totals and copies them: O(categories), apart
+ * from the first read of a new day, which drops that day's counters.
+ *
+ * <p>"Upcoming" means {@code dateEvent} after today, as in the public feed. All methods synchronize
+ * on the counter; every operation is short.
+ */
+public class CategoryCounter {
+    private static final EventCategory[] CATEGORIES = EventCategory.values();
+
+    private final Map<Long, FacetEntry> tracked = new HashMap<>();
+    private final NavigableMap<LocalDate, long[]> perDay = new TreeMap<>();
+    private final long[] totals = new long[CATEGORIES.length];
+    private LocalDate today;
+    private long version;
+
+    public CategoryCounter(LocalDate today) {
+        this.today = today;
+    }
+
+    /** Replaces all state with {@code entries}, e.g. at startup. */
+    public synchronized void load(List<FacetEntry> entries, LocalDate today) {
+        tracked.clear();
+        perDay.clear();
+        Arrays.fill(totals, 0);
+        this.today = today;
+        entries.forEach(this::add);
+        version++;
+    }
+
+    /** Records the current state of event {@code id}; {@code entry} is {@code null} once it is deleted. */
+    public synchronized void apply(Long id, FacetEntry entry) {
+        final FacetEntry previous = tracked.remove(id);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        if (entry != null) {
+            add(entry);
+        }
+        version++;
+    }
+
+    public synchronized Map<EventCategory, Long> counts(LocalDate now) {
+        roll(now);
+        final Map<EventCategory, Long> counts = new EnumMap<>(EventCategory.class);
+        for (EventCategory category : CATEGORIES) {
+            counts.put(category, totals[category.ordinal()]);
+        }
+        return counts;
+    }
+
+    /** Changes so far; {@link #reconcile} only applies counts read while this did not move. */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Replaces the counters with {@code rows}, a fresh {@code GROUP BY} of events after
+     * {@code asOf}, unless something changed since {@code expectedVersion} was read: the query may
+     * then have missed that change, and the next run will try again. Also forgets events that have
+     * passed. Returns how far the total of all categories had drifted, or {@code null} if skipped.
+     */
+    public synchronized Long reconcile(List<FacetDayCount> rows, LocalDate asOf, long expectedVersion) {
+        roll(asOf);
+        if (version != expectedVersion || !today.equals(asOf)) {
+            return null;
+        }
+        long before = 0;
+        for (long total : totals) {
+            before += total;
+        }
+        perDay.clear();
+        Arrays.fill(totals, 0);
+        long after = 0;
+        for (FacetDayCount row : rows) {
+            if (row.dateEvent().isAfter(today)) {
+                perDay.computeIfAbsent(row.dateEvent(), day -> new long[CATEGORIES.length])[row.category().ordinal()] += row.count();
+                totals[row.category().ordinal()] += row.count();
+                after += row.count();
+            }
+        }
+        tracked.values().removeIf(entry -> !entry.dateEvent().isAfter(today));
+        return after - before;
+    }
+
+    private void add(FacetEntry entry) {
+        if (entry.category() != null && entry.dateEvent() != null) {
+            tracked.put(entry.id(), entry);
+            count(entry, 1);
+        }
+    }
+
+    private void count(FacetEntry entry, int delta) {
+        if (!entry.dateEvent().isAfter(today)) {
+            return; // already rolled out of the totals
+        }
+        final int category = entry.category().ordinal();
+        final long[] day = perDay.computeIfAbsent(entry.dateEvent(), date -> new long[CATEGORIES.length]);
+        day[category] += delta;
+        totals[category] += delta;
+    }
+
+    private void roll(LocalDate now) {
+        if (!now.isAfter(today)) {
+            return;
+        }
+        final NavigableMap<LocalDate, long[]> passed = perDay.headMap(now, true);
+        for (long[] day : passed.values()) {
+            for (int category = 0; category < totals.length; category++) {
+                totals[category] -= day[category];
+            }
+        }
+        passed.clear();
+        today = now;
+    }
+}
@@ -0,0 +1,59 @@
+package com.lokummeet.backend.facet;
+
+import com.lokummeet.backend.cache.EventChangedEvent;
+import com.lokummeet.backend.entity.EventCategory;
+import com.lokummeet.backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Serves upcoming-event counts per category from memory. The counts are loaded at startup, follow
+ * every {@link EventChangedEvent}, and are checked against a {@code GROUP BY} every
+ * {@code events.facets.reconcile-interval} to repair drift from writes that bypass the service layer.
+ */
+@Slf4j
+@Component
+public class CategoryFacets {
+    private final EventRepository eventRepository;
+    private final CategoryCounter counter = new CategoryCounter(LocalDate.now());
+
+    public CategoryFacets(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public Map<EventCategory, Long> counts() {
+        return counter.counts(LocalDate.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final LocalDate today = LocalDate.now();
+        counter.load(eventRepository.findFacetEntriesAfter(today), today);
+        log.info("Loaded category facets: {}", counter.counts(today));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        counter.apply(event.getEventId(), eventRepository.findFacetEntry(event.getEventId()).orElse(null));
+    }
+
+    @Scheduled(initialDelayString = "${events.facets.reconcile-interval:10m}",
+            fixedDelayString = "${events.facets.reconcile-interval:10m}")
+    public void reconcile() {
+        final LocalDate today = LocalDate.now();
+        final long version = counter.version();
+        final Long drift = counter.reconcile(eventRepository.countUpcomingByCategoryAndDay(today), today, version);
+        if (drift == null) {
+            log.debug("Skipped category facet reconciliation; events changed while counting");
+        } else if (drift != 0) {
+            log.warn("Category facets had drifted by {} events from the database", drift);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.lokummeet.backend.facet;
+
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+
+/** One row of the reconciliation {@code GROUP BY category, date_event}. */
+public record FacetDayCount(EventCategory category, LocalDate dateEvent, long count) {
+}
@@ -0,0 +1,9 @@
+package com.lokummeet.backend.facet;
+
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+
+/** What {@link CategoryCounter} needs of one event. */
+public record FacetEntry(Long id, EventCategory category, LocalDate dateEvent) {
+}
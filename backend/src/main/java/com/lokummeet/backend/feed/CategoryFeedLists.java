@@ -0,0 +1,38 @@
+package com.lokummeet.backend.feed;
+
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.entity.EventCategory;
+import com.lokummeet.backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The soonest upcoming events per category, and across all categories, soonest first. Shared by
+ * every personalized feed; readers still drop events whose day has come, since a list can be up
+ * to its cache TTL old.
+ */
+@Component
+public class CategoryFeedLists {
+    private final EventRepository eventRepository;
+    private final Limit listSize;
+
+    public CategoryFeedLists(EventRepository eventRepository, @Value("${events.feed.list-size:500}") int listSize) {
+        this.eventRepository = eventRepository;
+        this.listSize = Limit.of(listSize);
+    }
+
+    @Cacheable(cacheNames = CacheName.Fields.CATEGORY_FEED_LIST, key = "#category")
+    public List<FeedCandidate> upcoming(EventCategory category) {
+        return eventRepository.findUpcomingFeedCandidates(LocalDate.now(), category, listSize);
+    }
+
+    @Cacheable(cacheNames = CacheName.Fields.CATEGORY_FEED_LIST, key = "'ALL'")
+    public List<FeedCandidate> upcoming() {
+        return eventRepository.findUpcomingFeedCandidates(LocalDate.now(), listSize);
+    }
+}
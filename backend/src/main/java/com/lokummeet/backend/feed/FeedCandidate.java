@@ -0,0 +1,20 @@
+package com.lokummeet.backend.feed;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** An upcoming event as a card, plus the columns the personalized feed ranks and filters on. */
+public record FeedCandidate(Long id, LocalDate dateEvent, LocalDateTime startTime, String title, String description,
+                            EventCategory category, Integer minAge, Integer maxAge) {
+
+    public EventCardDTO card() {
+        return new EventCardDTO(id, dateEvent, startTime, title, description);
+    }
+
+    public boolean admits(int age) {
+        return (minAge == null || age >= minAge) && (maxAge == null || age <= maxAge);
+    }
+}
@@ -0,0 +1,19 @@
+package com.lokummeet.backend.feed;
+
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Everything a ranked feed depends on. Users with the same favorite categories and age get equal
+ * keys, and so share one cached ranking.
+ */
+public record FeedKey(List<EventCategory> favoriteCategories, int age, LocalDate today) {
+
+    public static FeedKey of(FeedProfile profile, LocalDate today) {
+        final int age = profile.birthDate() == null ? 0 : Period.between(profile.birthDate(), today).getYears();
+        return new FeedKey(profile.favoriteCategories().stream().sorted().toList(), age, today);
+    }
+}
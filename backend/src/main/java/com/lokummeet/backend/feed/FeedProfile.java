@@ -0,0 +1,10 @@
+package com.lokummeet.backend.feed;
+
+import com.lokummeet.backend.entity.EventCategory;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/** The parts of a user the personalized feed depends on. */
+public record FeedProfile(Set<EventCategory> favoriteCategories, LocalDate birthDate) {
+}
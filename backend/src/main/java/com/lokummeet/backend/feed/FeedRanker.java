@@ -0,0 +1,64 @@
+package com.lokummeet.backend.feed;
+
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.entity.EventCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks the shared category lists for one {@link FeedKey}. Events outside the user's age window
+ * are dropped. The rest score {@code favorite-weight} for a favorite category, plus a recency term
+ * that halves every {@code recency-half-life}. So a favorite a few weeks out can still lose to
+ * another category's event tomorrow.
+ */
+@Component
+public class FeedRanker {
+    private final CategoryFeedLists lists;
+    private final double favoriteWeight;
+    private final double recencyHalfLifeDays;
+    private final int feedSize;
+
+    public FeedRanker(CategoryFeedLists lists,
+                      @Value("${events.feed.favorite-weight:0.5}") double favoriteWeight,
+                      @Value("${events.feed.recency-half-life:7d}") Duration recencyHalfLife,
+                      @Value("${events.feed.size:200}") int feedSize) {
+        this.lists = lists;
+        this.favoriteWeight = favoriteWeight;
+        this.recencyHalfLifeDays = recencyHalfLife.toHours() / 24.0;
+        this.feedSize = feedSize;
+    }
+
+    @Cacheable(cacheNames = CacheName.Fields.PERSONAL_FEED, key = "#key")
+    public List<FeedCandidate> rank(FeedKey key) {
+        final Map<Long, FeedCandidate> candidates = new LinkedHashMap<>();
+        for (EventCategory category : key.favoriteCategories()) {
+            lists.upcoming(category).forEach(candidate -> candidates.putIfAbsent(candidate.id(), candidate));
+        }
+        lists.upcoming().forEach(candidate -> candidates.putIfAbsent(candidate.id(), candidate));
+
+        final Comparator<FeedCandidate> byScore = Comparator.comparingDouble((FeedCandidate candidate) -> score(candidate, key))
+                .reversed()
+                .thenComparing(FeedCandidate::startTime)
+                .thenComparing(FeedCandidate::id);
+        return candidates.values().stream()
+                .filter(candidate -> candidate.dateEvent().isAfter(key.today()) && candidate.admits(key.age()))
+                .sorted(byScore)
+                .limit(feedSize)
+                .toList();
+    }
+
+    double score(FeedCandidate candidate, FeedKey key) {
+        final long days = ChronoUnit.DAYS.between(key.today(), candidate.dateEvent());
+        final double recency = Math.pow(0.5, days / recencyHalfLifeDays);
+        return (key.favoriteCategories().contains(candidate.category()) ? favoriteWeight : 0) + recency;
+    }
+}
@@ -1,30 +1,49 @@
 package com.lokummeet.backend.filter;
 
 import com.lokummeet.backend.service.JwtService;
+import com.lokummeet.backend.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
-    private final UserDetailsService userDetailsService;
+    private final UserService userService;
     private final JwtService jwtService;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+    private final Timer claimsPrincipalTimer;
+    private final Timer lookupPrincipalTimer;
 
     @Autowired
-    public JwtAuthFilter(UserDetailsService userDetailsService, JwtService jwtService) {
-        this.userDetailsService = userDetailsService;
+    public JwtAuthFilter(UserService userService, JwtService jwtService, MeterRegistry meterRegistry) {
+        this.userService = userService;
         this.jwtService = jwtService;
+        this.validTokenTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verifyTimer(meterRegistry, "invalid");
+        this.claimsPrincipalTimer = principalTimer(meterRegistry, "claims");
+        this.lookupPrincipalTimer = principalTimer(meterRegistry, "lookup");
+        // a MeterBinder bean is not picked up here: the registry is created while the security chain is wired
+        jwtService.bindTo(meterRegistry);
     }
 
     @Override
@@ -34,16 +53,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        Claims claims = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtService.extractUsername(token);
+            final long start = System.nanoTime();
+            try {
+                claims = jwtService.verify(authHeader.substring(7));
+                validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (JwtException e) {
+                invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Rejected bearer token: {}", e.getMessage());
+            }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.validateToken(token, userDetails)) {
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            final Claims verified = claims;
+            UserDetails userDetails = claims.containsKey(JwtService.TOKEN_VERSION_CLAIM)
+                    ? claimsPrincipalTimer.record(() -> principalFromClaims(verified))
+                    : lookupPrincipalTimer.record(() -> loadPrincipal(verified.getSubject()));
+            if (userDetails != null && userDetails.isAccountNonLocked()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -55,4 +82,47 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal from the token itself. The only lookup is the cached token version,
+     * which is bumped on revocation, bans, role and password changes.
+     */
+    private UserDetails principalFromClaims(Claims claims) {
+        final Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        final Integer tokenVersion = claims.get(JwtService.TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || !tokenVersion.equals(userService.currentTokenVersion(userId))) {
+            log.debug("Revoked bearer token for user {}", userId);
+            return null;
+        }
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(JwtService.extractRoles(claims))
+                .build();
+    }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Bearer token verification, including the verified-token cache")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer principalTimer(MeterRegistry registry, String source) {
+        return Timer.builder("auth.principal.resolve")
+                .description("Building the principal for a verified token")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Tokens issued before roles and versions were embedded still resolve the user. */
+    private UserDetails loadPrincipal(String email) {
+        try {
+            return userService.loadPrincipal(email);
+        } catch (UsernameNotFoundException e) {
+            log.debug("Bearer token for unknown user {}", email);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.lokummeet.backend.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Entities keep {@code geo_cell} current themselves; this fills it in for rows written around JPA,
+ * such as seed data or imports, that only set latitude and longitude.
+ */
+@Slf4j
+@Component
+public class GeoCellBackfill {
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GeoCellBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int filled = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query("""
+                    select id, latitude, longitude from events
+                    where geo_cell is null and latitude is not null and longitude is not null
+                    limit ?""",
+                    (rs, rowNum) -> new Object[]{GeoHash.encode(rs.getDouble(2), rs.getDouble(3)), rs.getLong(1)},
+                    BATCH_SIZE);
+            jdbcTemplate.batchUpdate("update events set geo_cell = ? where id = ?", batch);
+            filled += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+        if (filled > 0) {
+            log.info("Filled geo cells for {} events", filled);
+        }
+    }
+}
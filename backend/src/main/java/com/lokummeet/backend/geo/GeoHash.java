@@ -0,0 +1,119 @@
+package com.lokummeet.backend.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Geohash cells packed into a {@code long}: 60 bits of alternating longitude/latitude bisections,
+ * i.e. precision 12. A cell of any coarser precision is then one contiguous range of those values,
+ * so "events within these cells" is a few range scans on a plain btree index, in any database.
+ */
+public final class GeoHash {
+    public static final int MAX_PRECISION = 12;
+    private static final int BITS = 5 * MAX_PRECISION;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    /**
+     * A covering with more cells than this uses the next coarser precision. Finer coverings waste
+     * less area around the circle; coarser ones produce fewer ranges.
+     */
+    private static final int MAX_COVERING_CELLS = 64;
+
+    /** Cell values from {@code from} inclusive to {@code to} exclusive. */
+    public record Range(long from, long to) {
+    }
+
+    private GeoHash() {
+    }
+
+    public static long encode(double latitude, double longitude) {
+        double latMin = -90, latMax = 90, lonMin = -180, lonMax = 180;
+        long cell = 0;
+        for (int bit = 0; bit < BITS; bit++) {
+            cell <<= 1;
+            if (bit % 2 == 0) {
+                final double mid = (lonMin + lonMax) / 2;
+                if (longitude >= mid) {
+                    cell |= 1;
+                    lonMin = mid;
+                } else {
+                    lonMax = mid;
+                }
+            } else {
+                final double mid = (latMin + latMax) / 2;
+                if (latitude >= mid) {
+                    cell |= 1;
+                    latMin = mid;
+                } else {
+                    latMax = mid;
+                }
+            }
+        }
+        return cell;
+    }
+
+    /**
+     * Cell ranges covering the bounding box of the circle, at the finest precision that needs no
+     * more than {@link #MAX_COVERING_CELLS} cells. Adjacent ranges are merged.
+     */
+    public static List<Range> covering(double latitude, double longitude, double radiusKm) {
+        final double dLat = radiusKm / KM_PER_DEGREE;
+        final double dLon = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        final double minLat = Math.max(latitude - dLat, -90);
+        final double maxLat = Math.min(latitude + dLat, 90 - 1e-9);
+
+        for (int precision = MAX_PRECISION; ; precision--) {
+            final int bits = 5 * precision;
+            final double cellLon = 360.0 / (1L << ((bits + 1) / 2));
+            final double cellLat = 180.0 / (1L << (bits / 2));
+            final long columnsAround = 1L << ((bits + 1) / 2);
+            final long firstRow = (long) Math.floor((minLat + 90) / cellLat);
+            final long lastRow = (long) Math.floor((maxLat + 90) / cellLat);
+            final long firstColumn = (long) Math.floor((longitude - dLon + 180) / cellLon);
+            final long lastColumn = (long) Math.floor((longitude + dLon + 180) / cellLon);
+            final long columns = Math.min(lastColumn - firstColumn + 1, columnsAround);
+            if ((lastRow - firstRow + 1) * columns > MAX_COVERING_CELLS && precision > 1) {
+                continue;
+            }
+            final int shift = BITS - bits;
+            final TreeSet<Long> prefixes = new TreeSet<>();
+            for (long row = firstRow; row <= lastRow; row++) {
+                for (long column = firstColumn; column < firstColumn + columns; column++) {
+                    final long wrapped = Math.floorMod(column, columnsAround);
+                    prefixes.add(encode(-90 + (row + 0.5) * cellLat, -180 + (wrapped + 0.5) * cellLon) >>> shift);
+                }
+            }
+            return merge(prefixes, shift);
+        }
+    }
+
+    /** Great-circle distance by the haversine formula. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        final double dLat = Math.toRadians(lat2 - lat1);
+        final double dLon = Math.toRadians(lon2 - lon1);
+        final double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static List<Range> merge(TreeSet<Long> prefixes, int shift) {
+        final List<Range> ranges = new ArrayList<>();
+        long from = -1;
+        long to = -1;
+        for (long prefix : prefixes) {
+            if (prefix << shift != to) {
+                if (from >= 0) {
+                    ranges.add(new Range(from, to));
+                }
+                from = prefix << shift;
+            }
+            to = (prefix + 1) << shift;
+        }
+        if (from >= 0) {
+            ranges.add(new Range(from, to));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,7 @@
+package com.lokummeet.backend.geo;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+
+/** An event card with the coordinates it was found at, before the exact distance check. */
+public record LocatedEvent(EventCardDTO card, double latitude, double longitude) {
+}
@@ -0,0 +1,6 @@
+package com.lokummeet.backend.geo;
+
+public enum NearbySort {
+    DISTANCE,
+    TIME
+}
@@ -0,0 +1,206 @@
+package com.lokummeet.backend.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Runs a mutating request once per {@code Idempotency-Key}: a retry of a request that completed gets
+ * the stored response back with {@code Idempotent-Replayed: true}, and a retry that arrives while the
+ * first is still running waits for it. Server errors and requests that fail with an exception are not
+ * stored, so they can be retried. Runs in the security chain after the rate limiter, so keys are
+ * scoped to the authenticated principal.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null
+                || !METHODS.contains(request.getMethod())
+                || properties.getPatterns().stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+            return;
+        }
+        if (request.getContentLengthLong() > properties.getMaxBodySize()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large for " + HEADER);
+            return;
+        }
+        final byte[] body = request.getInputStream().readNBytes(properties.getMaxBodySize() + 1);
+        if (body.length > properties.getMaxBodySize()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body too large for " + HEADER);
+            return;
+        }
+
+        final String key = scope() + "|" + idempotencyKey;
+        final IdempotencyStore.Claim claim = store.claim(key, fingerprint(request, body), properties.getWaitTimeout());
+        switch (claim.status()) {
+            case REPLAY -> replay(response, claim.response());
+            case MISMATCH -> reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request");
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            }
+            case ACQUIRED -> run(key, claim.lease(), new CachedBodyRequest(request, body), response, chain);
+        }
+    }
+
+    private void run(String key, UUID lease, HttpServletRequest request, HttpServletResponse response,
+                     FilterChain chain) throws ServletException, IOException {
+        final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.release(key, lease);
+            throw e;
+        }
+        try {
+            if (request.isAsyncStarted() || wrapper.getStatus() >= 500) {
+                store.release(key, lease);
+            } else if (!store.complete(key, lease, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getContentAsByteArray()))) {
+                // the lease lapsed and a retry took the key over; its response is the one kept
+                log.warn("Lease on idempotency key {} lapsed before the response was stored", key);
+            }
+        } catch (RuntimeException e) {
+            // the request itself went through; a retry may run it again, which is what happens without a key
+            log.warn("Could not store the response for idempotency key {}", key, e);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    // written directly, like the rate limiter: sendError would dispatch to /error
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+
+    private static String scope() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            // clients generate random keys; the fingerprint catches the rare collision
+            return "anonymous";
+        }
+        return "u:" + authentication.getName();
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The body was read to fingerprint it; hands the same bytes to the rest of the chain. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            final String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
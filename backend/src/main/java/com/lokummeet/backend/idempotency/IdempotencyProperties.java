@@ -0,0 +1,53 @@
+package com.lokummeet.backend.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code Idempotency-Key} handling for mutating requests. A key is scoped to the authenticated
+ * principal, or shared by all anonymous callers, and bound to the method, path and body of the first
+ * request that used it.
+ */
+@Data
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+    /** Paths whose POST, PUT, PATCH and DELETE requests honour the header. */
+    private List<String> patterns = new ArrayList<>(List.of("/api/**"));
+    /** How long a completed response is replayed for. */
+    private Duration ttl = Duration.ofHours(24);
+    /** How long a duplicate waits for the first request to finish before getting a 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private int maxKeyLength = 255;
+    /** Requests with a larger body are rejected rather than buffered to fingerprint them. */
+    private int maxBodySize = 64 * 1024;
+    /** {@code local} keeps keys per replica; {@code postgres} shares them through the app database. */
+    private Store store = Store.LOCAL;
+    private Local local = new Local();
+    private Shared shared = new Shared();
+
+    public enum Store { LOCAL, POSTGRES }
+
+    @Data
+    public static class Local {
+        /** Completed responses kept; the oldest are dropped first once the cap is reached. */
+        private long maxEntries = 100_000;
+    }
+
+    @Data
+    public static class Shared {
+        /**
+         * How long a replica may hold a key without finishing before another replica takes it over,
+         * so a crash mid-request does not block the key until it expires.
+         */
+        private Duration lease = Duration.ofMinutes(1);
+        /** How often a duplicate checks whether the first request has finished. */
+        private Duration pollInterval = Duration.ofMillis(50);
+        /** How often expired keys are deleted from the store. */
+        private Duration cleanupInterval = Duration.ofMinutes(5);
+        private int cleanupBatchSize = 10_000;
+    }
+}
@@ -0,0 +1,49 @@
+package com.lokummeet.backend.idempotency;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Where {@link IdempotencyFilter} records which keys are running and what they answered. A key is
+ * claimed by one request at a time; it then either {@link #complete}s with the response to replay or
+ * {@link #release}s the key so a retry runs again. Both take the lease the claim returned, so a
+ * request whose key was taken over after its lease lapsed cannot touch the new holder's claim.
+ */
+public interface IdempotencyStore {
+
+    record Claim(Status status, StoredResponse response, UUID lease) {
+        static final Claim MISMATCH = new Claim(Status.MISMATCH, null, null);
+        static final Claim IN_PROGRESS = new Claim(Status.IN_PROGRESS, null, null);
+
+        static Claim acquired(UUID lease) {
+            return new Claim(Status.ACQUIRED, null, lease);
+        }
+
+        static Claim replay(StoredResponse response) {
+            return new Claim(Status.REPLAY, response, null);
+        }
+    }
+
+    enum Status {
+        /** The caller runs the request and must complete or release the key with {@link Claim#lease}. */
+        ACQUIRED,
+        /** The key has completed with a matching request; replay {@link Claim#response}. */
+        REPLAY,
+        /** The key was used for a different request. */
+        MISMATCH,
+        /** The first request with the key was still running when the wait ran out. */
+        IN_PROGRESS
+    }
+
+    /**
+     * Claims {@code key} for a request with the given fingerprint. While another request holds the
+     * key, waits up to {@code wait} for it to finish and replays its response, or claims the key if
+     * it was released.
+     */
+    Claim claim(String key, String fingerprint, Duration wait);
+
+    /** {@code false} if {@code lease} no longer holds the key, and nothing was stored. */
+    boolean complete(String key, UUID lease, StoredResponse response);
+
+    void release(String key, UUID lease);
+}
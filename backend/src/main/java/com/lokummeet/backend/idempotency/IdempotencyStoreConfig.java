@@ -0,0 +1,46 @@
+package com.lokummeet.backend.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/** Picks the {@link IdempotencyStore} from {@code idempotency.store}; local unless configured otherwise. */
+@Configuration
+public class IdempotencyStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "local", matchIfMissing = true)
+    public IdempotencyStore localIdempotencyStore(IdempotencyProperties properties) {
+        return new LocalIdempotencyStore(properties.getLocal().getMaxEntries(), properties.getTtl());
+    }
+
+    @Slf4j
+    @Configuration
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "postgres")
+    static class Postgres {
+        private final PostgresIdempotencyStore store;
+        private final IdempotencyProperties.Shared shared;
+
+        Postgres(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+            this.shared = properties.getShared();
+            this.store = new PostgresIdempotencyStore(jdbcTemplate, properties.getTtl(),
+                    shared.getLease(), shared.getPollInterval());
+        }
+
+        @Bean
+        public IdempotencyStore postgresIdempotencyStore() {
+            return store;
+        }
+
+        @Scheduled(fixedDelayString = "${idempotency.shared.cleanup-interval:5m}")
+        void removeExpiredKeys() {
+            final int removed = store.removeExpired(shared.getCleanupBatchSize());
+            if (removed > 0) {
+                log.debug("Removed {} expired idempotency keys", removed);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.lokummeet.backend.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * In-process keys; each replica deduplicates on its own. Running requests sit in a map bounded by
+ * the number of requests in flight, and duplicates wait on their future instead of polling.
+ * Completed responses go to a cache bounded by size and expiring after the TTL.
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+    private record Running(String fingerprint, UUID lease, CompletableFuture<StoredResponse> response) {
+    }
+
+    private record Completed(String fingerprint, StoredResponse response) {
+    }
+
+    private final Map<String, Running> running = new ConcurrentHashMap<>();
+    private final Cache<String, Completed> completed;
+
+    public LocalIdempotencyStore(long maxEntries, Duration ttl) {
+        this.completed = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).build();
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint, Duration wait) {
+        final long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            final Completed done = completed.getIfPresent(key);
+            if (done != null) {
+                return done.fingerprint().equals(fingerprint) ? Claim.replay(done.response()) : Claim.MISMATCH;
+            }
+            final Running mine = new Running(fingerprint, UUID.randomUUID(), new CompletableFuture<>());
+            final Running first = running.putIfAbsent(key, mine);
+            if (first == null) {
+                if (completed.getIfPresent(key) == null) {
+                    return Claim.acquired(mine.lease());
+                }
+                // the first request completed between the two lookups
+                release(key, mine.lease());
+                continue;
+            }
+            if (!first.fingerprint().equals(fingerprint)) {
+                return Claim.MISMATCH;
+            }
+            try {
+                final StoredResponse response = first.response().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (response != null) {
+                    return Claim.replay(response);
+                }
+                // released without a response: claim it again
+            } catch (TimeoutException e) {
+                return Claim.IN_PROGRESS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.IN_PROGRESS;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean complete(String key, UUID lease, StoredResponse response) {
+        final Running mine = running.get(key);
+        if (mine == null || !mine.lease().equals(lease)) {
+            return false;
+        }
+        // completed first, so a new claim never finds the key in neither map
+        completed.put(key, new Completed(mine.fingerprint(), response));
+        running.remove(key, mine);
+        mine.response().complete(response);
+        return true;
+    }
+
+    @Override
+    public void release(String key, UUID lease) {
+        final Running mine = running.get(key);
+        if (mine != null && mine.lease().equals(lease) && running.remove(key, mine)) {
+            mine.response().complete(null);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.lokummeet.backend.idempotency;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keys shared by every replica through the {@code idempotency_keys} table. The primary key decides
+ * which request claims a key; duplicates poll the row until it has a response. A claim is a lease:
+ * once it lapses, as when its replica crashed mid-request, the next duplicate takes the key over
+ * under a new lease token, and the old holder can no longer complete or release it.
+ */
+public class PostgresIdempotencyStore implements IdempotencyStore {
+    private record Row(String fingerprint, Integer status, String contentType, byte[] body,
+                       boolean lapsed, boolean expired) {
+    }
+
+    private static final String INSERT = """
+            insert into idempotency_keys (id, fingerprint, lease_token, locked_until, expires_at)
+            values (?, ?, ?, now() + ? * interval '1 millisecond', now() + ? * interval '1 millisecond')
+            on conflict (id) do nothing
+            """;
+    private static final String SELECT = """
+            select fingerprint, status, content_type, body, locked_until < now(), expires_at < now()
+            from idempotency_keys where id = ?
+            """;
+    private static final String TAKE_OVER = """
+            update idempotency_keys set lease_token = ?, locked_until = now() + ? * interval '1 millisecond'
+            where id = ? and status is null and locked_until < now()
+            """;
+    private static final String COMPLETE = """
+            update idempotency_keys set status = ?, content_type = ?, body = ?, locked_until = null
+            where id = ? and status is null and lease_token = ?
+            """;
+    private static final String RELEASE = """
+            delete from idempotency_keys where id = ? and status is null and lease_token = ?
+            """;
+    private static final String DELETE_EXPIRED = """
+            delete from idempotency_keys where id in (
+                select id from idempotency_keys where expires_at < now() limit ? for update skip locked)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration pollInterval;
+
+    public PostgresIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration lease, Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint, Duration wait) {
+        final long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            final UUID token = UUID.randomUUID();
+            if (jdbcTemplate.update(INSERT, key, fingerprint, token, lease.toMillis(), ttl.toMillis()) > 0) {
+                return Claim.acquired(token);
+            }
+            final Row row = find(key);
+            if (row == null) {
+                // released or cleaned up since the insert: claim it again
+                continue;
+            }
+            if (row.expired()) {
+                jdbcTemplate.update("delete from idempotency_keys where id = ? and expires_at < now()", key);
+                continue;
+            }
+            if (!row.fingerprint().equals(fingerprint)) {
+                return Claim.MISMATCH;
+            }
+            if (row.status() != null) {
+                return Claim.replay(new StoredResponse(row.status(), row.contentType(), row.body()));
+            }
+            if (row.lapsed() && jdbcTemplate.update(TAKE_OVER, token, lease.toMillis(), key) > 0) {
+                return Claim.acquired(token);
+            }
+            final long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return Claim.IN_PROGRESS;
+            }
+            try {
+                Thread.sleep(Math.min(pollInterval.toMillis(), Math.max(1, left / 1_000_000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.IN_PROGRESS;
+            }
+        }
+    }
+
+    @Override
+    public boolean complete(String key, UUID lease, StoredResponse response) {
+        return jdbcTemplate.update(COMPLETE, response.status(), response.contentType(), response.body(), key, lease) > 0;
+    }
+
+    @Override
+    public void release(String key, UUID lease) {
+        jdbcTemplate.update(RELEASE, key, lease);
+    }
+
+    /** Deletes up to {@code batchSize} expired keys; returns how many went. */
+    public int removeExpired(int batchSize) {
+        return jdbcTemplate.update(DELETE_EXPIRED, batchSize);
+    }
+
+    private Row find(String key) {
+        final List<Row> rows = jdbcTemplate.query(SELECT, (rs, rowNum) -> new Row(rs.getString(1),
+                (Integer) rs.getObject(2), rs.getString(3), rs.getBytes(4), rs.getBoolean(5), rs.getBoolean(6)), key);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+}
@@ -0,0 +1,5 @@
+package com.lokummeet.backend.idempotency;
+
+/** What the first request with a key answered, replayed to its retries. */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
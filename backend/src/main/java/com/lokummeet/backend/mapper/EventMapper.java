@@ -2,10 +2,32 @@ package com.lokummeet.backend.mapper;
 
 import com.lokummeet.backend.dto.EventDTO;
 import com.lokummeet.backend.entity.Event;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel =  "spring")
 public interface EventMapper extends BaseMapper<EventDTO, Event> {
+    /** Leaves {@code createdBy} empty so mapping never touches the lazy creator; callers fill it in. */
+    @Mapping(target = "createdBy", ignore = true)
     EventDTO toDto(Event entity);
+
+    @Mapping(target = "createdBy", ignore = true)
     Event toEntity(EventDTO dto);
+
+    /**
+     * Copies what an organizer may edit onto {@code entity}; fields left out of {@code dto} keep their
+     * value. The seat counter belongs to the join engine and is never copied.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "currentCapacity", ignore = true)
+    @Mapping(target = "geoCell", ignore = true)
+    @Mapping(target = "approvedInstitution", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(EventDTO dto, @MappingTarget Event entity);
 }
@@ -0,0 +1,50 @@
+package com.lokummeet.backend.repository;
+
+import com.lokummeet.backend.dto.AttendeeDTO;
+import com.lokummeet.backend.entity.AttendeeStatus;
+import com.lokummeet.backend.entity.EventAttendee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Joins and leaves are written by {@link com.lokummeet.backend.rsvp.AttendeeStore}; this reads, and clears deleted events. */
+@Repository
+public interface EventAttendeeRepository extends CrudRepository<EventAttendee, Long> {
+
+    // One join to users per page instead of a lazy user fetch per row, and none of the user's
+    // eager collections; keyset order is served by idx_event_attendees_event_status_joined_at.
+    String ATTENDEE_PROJECTION = """
+            select new com.lokummeet.backend.dto.AttendeeDTO(
+                u.id, coalesce(nullif(trim(u.username), ''), u.email), u.avatarUrl, a.joinedAt, a.status)
+            from EventAttendee a join User u on u.id = a.user.id
+            """;
+
+    @Query(ATTENDEE_PROJECTION + """
+            where a.event.id = :eventId and a.status = :status
+            order by a.joinedAt, a.user.id
+            """)
+    List<AttendeeDTO> findAttendees(@Param("eventId") Long eventId,
+                                    @Param("status") AttendeeStatus status,
+                                    Limit limit);
+
+    @Query(ATTENDEE_PROJECTION + """
+            where a.event.id = :eventId and a.status = :status
+              and (a.joinedAt, a.user.id) > (:joinedAt, :userId)
+            order by a.joinedAt, a.user.id
+            """)
+    List<AttendeeDTO> findAttendeesAfter(@Param("eventId") Long eventId,
+                                         @Param("status") AttendeeStatus status,
+                                         @Param("joinedAt") OffsetDateTime joinedAt,
+                                         @Param("userId") Long userId,
+                                         Limit limit);
+
+    @Modifying
+    @Query("delete from EventAttendee a where a.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
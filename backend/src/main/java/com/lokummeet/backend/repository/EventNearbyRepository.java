@@ -0,0 +1,18 @@
+package com.lokummeet.backend.repository;
+
+import com.lokummeet.backend.dto.EventCursor;
+import com.lokummeet.backend.geo.GeoHash;
+import com.lokummeet.backend.geo.LocatedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Spatial lookups on {@code events.geo_cell}; a fragment of {@link EventRepository}. */
+public interface EventNearbyRepository {
+
+    /**
+     * Upcoming events whose cell falls in one of {@code cells}, soonest first, starting after
+     * {@code position} unless it is {@code null}.
+     */
+    List<LocatedEvent> findUpcomingInCells(List<GeoHash.Range> cells, LocalDate after, EventCursor position, int limit);
+}
@@ -0,0 +1,69 @@
+package com.lokummeet.backend.repository;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.dto.EventCursor;
+import com.lokummeet.backend.geo.GeoHash;
+import com.lokummeet.backend.geo.LocatedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Each cell range is one range scan on {@code idx_events_geo_cell_date}; the table itself is only
+ * read for rows inside the covering.
+ */
+class EventNearbyRepositoryImpl implements EventNearbyRepository {
+    private static final String SELECT = """
+            select e.id, e.date_event, e.start_time, e.title,
+                   substring(e.description, 1, %d) as preview, e.latitude, e.longitude
+            from events e
+            where e.date_event > ?
+              and (%s)%s
+            order by e.date_event, e.start_time, e.id
+            limit ?
+            """;
+
+    private static final RowMapper<LocatedEvent> ROW_MAPPER = (rs, rowNum) -> new LocatedEvent(
+            new EventCardDTO(rs.getLong("id"),
+                    rs.getObject("date_event", LocalDate.class),
+                    rs.getTimestamp("start_time").toLocalDateTime(),
+                    rs.getString("title"),
+                    rs.getString("preview")),
+            rs.getDouble("latitude"),
+            rs.getDouble("longitude"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EventNearbyRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<LocatedEvent> findUpcomingInCells(List<GeoHash.Range> cells, LocalDate after, EventCursor position, int limit) {
+        if (cells.isEmpty()) {
+            return List.of();
+        }
+        final String ranges = String.join(" or ",
+                Collections.nCopies(cells.size(), "(e.geo_cell >= ? and e.geo_cell < ?)"));
+        final List<Object> args = new ArrayList<>(2 * cells.size() + 5);
+        args.add(after);
+        for (GeoHash.Range cell : cells) {
+            args.add(cell.from());
+            args.add(cell.to());
+        }
+        String keyset = "";
+        if (position != null) {
+            keyset = "\n  and (e.date_event, e.start_time, e.id) > (?, ?, ?)";
+            args.add(position.getDateEvent());
+            args.add(position.getStartTime());
+            args.add(position.getId());
+        }
+        args.add(limit);
+        return jdbcTemplate.query(SELECT.formatted(EventCardDTO.DESCRIPTION_PREVIEW_LENGTH, ranges, keyset),
+                ROW_MAPPER, args.toArray());
+    }
+}
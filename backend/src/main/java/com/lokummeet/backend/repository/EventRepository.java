@@ -1,14 +1,142 @@
 package com.lokummeet.backend.repository;
 
+import com.lokummeet.backend.dto.AttendeeCountDTO;
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.dto.EventVersionView;
+import com.lokummeet.backend.dto.FeedVersionView;
 import com.lokummeet.backend.entity.Event;
-import org.springframework.data.domain.Sort;
+import com.lokummeet.backend.entity.EventCategory;
+import com.lokummeet.backend.export.EventExportRow;
+import com.lokummeet.backend.facet.FacetDayCount;
+import com.lokummeet.backend.facet.FacetEntry;
+import com.lokummeet.backend.feed.FeedCandidate;
+import com.lokummeet.backend.search.SearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRepository extends CrudRepository<Event, Long> {
-    List<Event> findByDateEventAfter(LocalDate date, Sort sort);
+public interface EventRepository extends CrudRepository<Event, Long>, EventNearbyRepository {
+
+    // Card feeds select straight into EventCardDTO, so no Event entities are hydrated or managed.
+    String CARD_PROJECTION = """
+            select new com.lokummeet.backend.dto.EventCardDTO(
+                e.id, e.dateEvent, e.startTime, e.title,
+                substring(e.description, 1, """ + EventCardDTO.DESCRIPTION_PREVIEW_LENGTH + """
+            ))
+            from Event e
+            """;
+
+    @Query(CARD_PROJECTION + """
+            where e.dateEvent > :after
+            order by e.dateEvent, e.startTime, e.id
+            """)
+    List<EventCardDTO> findUpcomingCards(@Param("after") LocalDate after, Limit limit);
+
+    @Query(CARD_PROJECTION + """
+            where e.dateEvent > :after
+              and (e.dateEvent, e.startTime, e.id) > (:dateEvent, :startTime, :id)
+            order by e.dateEvent, e.startTime, e.id
+            """)
+    List<EventCardDTO> findUpcomingCardsAfter(@Param("after") LocalDate after,
+                                              @Param("dateEvent") LocalDate dateEvent,
+                                              @Param("startTime") LocalDateTime startTime,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    @Query(CARD_PROJECTION + "where e.dateEvent > :after and e.id in :ids")
+    List<EventCardDTO> findUpcomingCardsByIdIn(@Param("after") LocalDate after, @Param("ids") Collection<Long> ids);
+
+    @Query("select e.id as id, e.updatedAt as updatedAt from Event e where e.id = :id")
+    Optional<EventVersionView> findVersionById(@Param("id") Long id);
+
+    /** Primary-key read of the seat counter the join engine keeps, instead of counting attendee rows. */
+    @Query("select new com.lokummeet.backend.dto.AttendeeCountDTO(e.currentCapacity, e.maxCapacity) from Event e where e.id = :id")
+    Optional<AttendeeCountDTO> findAttendeeCount(@Param("id") Long id);
+
+    /** Empty if there is no such event or it has no creator. */
+    @Query("select e.createdBy.id from Event e where e.id = :id")
+    Optional<Long> findCreatorIdById(@Param("id") Long id);
+
+    @Query("select count(e) as count, max(e.updatedAt) as lastModified from Event e")
+    FeedVersionView findFeedVersion();
+
+    String SEARCH_DOCUMENT_PROJECTION = """
+            select new com.lokummeet.backend.search.SearchDocument(
+                e.id, e.title, e.description, e.location, e.dateEvent, e.startTime)
+            from Event e
+            """;
+
+    @Query(SEARCH_DOCUMENT_PROJECTION + "where e.id > :after order by e.id")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("after") long after, Limit limit);
+
+    @Query(SEARCH_DOCUMENT_PROJECTION + "where e.id = :id")
+    Optional<SearchDocument> findSearchDocument(@Param("id") Long id);
+
+    @Query("""
+            select new com.lokummeet.backend.facet.FacetEntry(e.id, e.category, e.dateEvent)
+            from Event e
+            where e.dateEvent > :after and e.category is not null
+            """)
+    List<FacetEntry> findFacetEntriesAfter(@Param("after") LocalDate after);
+
+    @Query("select new com.lokummeet.backend.facet.FacetEntry(e.id, e.category, e.dateEvent) from Event e where e.id = :id")
+    Optional<FacetEntry> findFacetEntry(@Param("id") Long id);
+
+    @Query("""
+            select new com.lokummeet.backend.facet.FacetDayCount(e.category, e.dateEvent, count(e))
+            from Event e
+            where e.dateEvent > :after and e.category is not null
+            group by e.category, e.dateEvent
+            """)
+    List<FacetDayCount> countUpcomingByCategoryAndDay(@Param("after") LocalDate after);
+
+    String FEED_CANDIDATE_PROJECTION = """
+            select new com.lokummeet.backend.feed.FeedCandidate(
+                e.id, e.dateEvent, e.startTime, e.title,
+                substring(e.description, 1, """ + EventCardDTO.DESCRIPTION_PREVIEW_LENGTH + """
+            ), e.category, e.minAge, e.maxAge)
+            from Event e
+            """;
+
+    @Query(FEED_CANDIDATE_PROJECTION + """
+            where e.dateEvent > :after and e.category = :category
+            order by e.dateEvent, e.startTime, e.id
+            """)
+    List<FeedCandidate> findUpcomingFeedCandidates(@Param("after") LocalDate after,
+                                                   @Param("category") EventCategory category,
+                                                   Limit limit);
+
+    @Query(FEED_CANDIDATE_PROJECTION + """
+            where e.dateEvent > :after
+            order by e.dateEvent, e.startTime, e.id
+            """)
+    List<FeedCandidate> findUpcomingFeedCandidates(@Param("after") LocalDate after, Limit limit);
+
+    /**
+     * Events on days {@code from..to} in feed order, streamed through a server-side cursor: rows are
+     * fetched in chunks as the stream is consumed, so it needs an open transaction and must be closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.lokummeet.backend.export.EventExportRow(
+                e.id, e.title, e.description, e.location, e.latitude, e.longitude, e.dateEvent,
+                e.startTime, e.endTime, e.category, e.maxCapacity, e.minAge, e.maxAge, e.createdBy.id)
+            from Event e
+            where e.dateEvent between :from and :to
+            order by e.dateEvent, e.startTime, e.id
+            """)
+    Stream<EventExportRow> streamExportRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -1,11 +1,56 @@
 package com.lokummeet.backend.repository;
 
+import com.lokummeet.backend.dto.CreatorSummaryDTO;
+import com.lokummeet.backend.dto.UserPrincipalView;
+import com.lokummeet.backend.dto.UserProfileView;
+import com.lokummeet.backend.entity.EventCategory;
 import com.lokummeet.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("""
+            select u.id as id, u.email as email, u.banned as banned, r as role
+            from User u left join u.userRoles r
+            where u.email = :email
+            """)
+    List<UserPrincipalView> findPrincipalByEmail(@Param("email") String email);
+
+    @Query("""
+            select u.id as id, u.username as username, u.email as email, u.avatarUrl as avatarUrl,
+                   u.bio as bio, u.isVerified as verified, u.banned as banned, u.updatedAt as updatedAt, r as role
+            from User u left join u.userRoles r
+            where u.email = :email
+            """)
+    List<UserProfileView> findProfileByEmail(@Param("email") String email);
+
+    @Query("select c from UserPreferences p join p.favoriteCategories c where p.user.email = :email")
+    Set<EventCategory> findFavoriteCategoriesByEmail(@Param("email") String email);
+
+    @Query("select u.birthDate from User u where u.email = :email")
+    Optional<LocalDate> findBirthDateByEmail(@Param("email") String email);
+
+    @Query("select p.preferredDistance from UserPreferences p where p.user.email = :email")
+    Optional<Integer> findPreferredDistanceByEmail(@Param("email") String email);
+
+    /** Display name falls back to the email like {@link User#getUsername()}. */
+    @Query("""
+            select new com.lokummeet.backend.dto.CreatorSummaryDTO(
+                u.id, coalesce(nullif(trim(u.username), ''), u.email), u.avatarUrl)
+            from User u
+            where u.id in :ids
+            """)
+    List<CreatorSummaryDTO> findCreatorSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,219 @@
+package com.lokummeet.backend.rsvp;
+
+import com.lokummeet.backend.entity.AttendeeStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attendee rows and {@code events.current_capacity}, kept in step in one transaction. Seats are only
+ * handed out under the event row lock, to newcomers only while nobody is waiting and otherwise from
+ * the waitlist in arrival order, so the database never admits more than {@code max_capacity} and
+ * newcomers never overtake the queue.
+ */
+@Component
+public class AttendeeStore {
+    /** What a batch of joins did: the status of every user in it and whether their row is new. */
+    public record JoinOutcome(Map<Long, AttendeeStatus> statuses, List<Long> inserted, int promoted) {
+    }
+
+    // Queues the batch only if the event is full, and writes nothing otherwise: a seat is then still
+    // being handed out, and users queued now would be promoted to it after being told they wait.
+    // The no-op update locks rows that already exist, so a concurrent leave cannot remove them
+    // before this batch reads their status back; xmax = 0 tells inserted rows from existing ones.
+    private static final String INSERT_WAITLISTED_IF_FULL = """
+            insert into event_attendees (event_id, user_id, joined_at, status)
+            select ?, u.user_id, now(), 'WAITLISTED'
+            from unnest(?::bigint[]) with ordinality as u(user_id, ord)
+            where exists (select 1 from events e
+                          where e.id = ? and coalesce(e.current_capacity, 0) >= e.max_capacity)
+            order by u.ord
+            on conflict (event_id, user_id) do update set status = event_attendees.status
+            returning user_id, status, xmax = 0 as inserted
+            """;
+
+    // Run with the event row locked: while nobody is waiting, the first arrivals take the free
+    // seats directly instead of being queued and promoted in a second write.
+    private static final String INSERT_SEATED = """
+            insert into event_attendees (event_id, user_id, joined_at, status)
+            select ?, u.user_id, now(),
+                   case when u.ord <= ? and not exists (select 1 from event_attendees a
+                                                        where a.event_id = ? and a.status = 'WAITLISTED')
+                        then 'JOINED' else 'WAITLISTED' end
+            from unnest(?::bigint[]) with ordinality as u(user_id, ord)
+            order by u.ord
+            on conflict (event_id, user_id) do update set status = event_attendees.status
+            returning user_id, status, xmax = 0 as inserted
+            """;
+
+    // The event row lock serializes seat handouts of one event and is taken once per batch, not per
+    // user, in a statement of its own so that the ones after it see whatever the previous holder
+    // committed. "no key update" is what a plain update takes: "for update" would deadlock with the
+    // key-share lock a concurrent attendee insert holds through its foreign key.
+    private static final String LOCK_FREE_SEATS = """
+            select greatest(coalesce(max_capacity - coalesce(current_capacity, 0), ?), 0)
+            from events where id = ? for no key update
+            """;
+
+    private static final String PROMOTE = """
+            with next as (
+                select id from event_attendees
+                where event_id = ? and status = 'WAITLISTED'
+                order by id
+                limit ?
+                for update
+            )
+            update event_attendees a set status = 'JOINED', joined_at = now()
+            from next
+            where a.id = next.id
+            returning a.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AttendeeStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Seats left, {@link Integer#MAX_VALUE} without a capacity, or {@code null} if there is no such event. */
+    public Integer findRemainingSeats(long eventId) {
+        return jdbcTemplate.query("""
+                        select coalesce(max_capacity - coalesce(current_capacity, 0), ?) from events where id = ?
+                        """,
+                rs -> rs.next() ? Math.max(rs.getInt(1), 0) : null, Integer.MAX_VALUE, eventId);
+    }
+
+    /**
+     * Adds {@code userIds}, which must be distinct, to an event; users already on it keep their row.
+     * Without {@code seat} they are queued with one insert, as long as the event is full. Otherwise,
+     * or with {@code seat}, the event row is locked: newcomers take free seats directly while nobody
+     * is waiting, and whatever is still free then goes to the head of the waitlist, which may be users
+     * from earlier batches. Either way every status returned is final until someone leaves.
+     */
+    public JoinOutcome join(long eventId, List<Long> userIds, boolean seat) {
+        return transactionTemplate.execute(status -> {
+            if (!seat) {
+                final JoinOutcome queued = insert(userIds, (con, users) -> {
+                    final PreparedStatement ps = con.prepareStatement(INSERT_WAITLISTED_IF_FULL);
+                    ps.setLong(1, eventId);
+                    ps.setArray(2, users);
+                    ps.setLong(3, eventId);
+                    return ps;
+                });
+                if (!queued.statuses().isEmpty()) {
+                    return queued;
+                }
+                // the count ran out before the database did, so this batch competes for the seats
+            }
+            final int free = lockFreeSeats(eventId);
+            final JoinOutcome written = insert(userIds, (con, users) -> {
+                final PreparedStatement ps = con.prepareStatement(INSERT_SEATED);
+                ps.setLong(1, eventId);
+                ps.setInt(2, free);
+                ps.setLong(3, eventId);
+                ps.setArray(4, users);
+                return ps;
+            });
+            final Map<Long, AttendeeStatus> statuses = written.statuses();
+            final int seated = (int) written.inserted().stream().filter(userId -> statuses.get(userId) == AttendeeStatus.JOINED).count();
+            // seats the batch could not use, say because some of it was already on the event, go to the queue
+            final List<Long> promoted = promoteWaitlisted(eventId, free - seated);
+            promoted.forEach(userId -> statuses.computeIfPresent(userId, (id, was) -> AttendeeStatus.JOINED));
+            takeSeats(eventId, seated + promoted.size());
+            return new JoinOutcome(statuses, written.inserted(), seated + promoted.size());
+        });
+    }
+
+    /**
+     * Moves as many waitlisted users to {@code JOINED} as there are free seats, oldest first, and
+     * returns how many. Safe to repeat: it works from the committed state, so a second run for the
+     * same freed seat finds nothing to do.
+     */
+    public int promote(long eventId) {
+        return transactionTemplate.execute(status -> {
+            final int promoted = promoteWaitlisted(eventId, lockFreeSeats(eventId)).size();
+            takeSeats(eventId, promoted);
+            return promoted;
+        });
+    }
+
+    /** Events with both free seats and a waitlist, for the periodic promotion sweep. */
+    public List<Long> findPromotableEvents() {
+        return jdbcTemplate.queryForList("""
+                select e.id from events e
+                where (e.max_capacity is null or coalesce(e.current_capacity, 0) < e.max_capacity)
+                  and exists (select 1 from event_attendees a where a.event_id = e.id and a.status = 'WAITLISTED')
+                """, Long.class);
+    }
+
+    /**
+     * Removes the user from the event, freeing their seat if they had one. Returns the status they
+     * had, or {@code null} if they were not on the event.
+     */
+    public AttendeeStatus leave(long eventId, long userId) {
+        return transactionTemplate.execute(status -> {
+            // event row first, in the same order as promote, which locks the waitlist rows after it
+            lockFreeSeats(eventId);
+            final List<String> removed = jdbcTemplate.queryForList("""
+                    delete from event_attendees where event_id = ? and user_id = ? returning status
+                    """, String.class, eventId, userId);
+            if (removed.isEmpty()) {
+                return null;
+            }
+            final AttendeeStatus was = AttendeeStatus.valueOf(removed.getFirst());
+            if (was == AttendeeStatus.JOINED) {
+                jdbcTemplate.update("""
+                        update events set current_capacity = current_capacity - 1
+                        where id = ? and current_capacity > 0
+                        """, eventId);
+            }
+            return was;
+        });
+    }
+
+    private interface InsertStatement {
+        PreparedStatement prepare(Connection con, Array users) throws SQLException;
+    }
+
+    /** Runs one of the attendee inserts and collects what it returned; nothing promoted yet. */
+    private JoinOutcome insert(List<Long> userIds, InsertStatement statement) {
+        final Map<Long, AttendeeStatus> statuses = new HashMap<>();
+        final List<Long> inserted = new ArrayList<>();
+        jdbcTemplate.query(con -> statement.prepare(con, con.createArrayOf("bigint", userIds.toArray())), rs -> {
+            statuses.put(rs.getLong(1), AttendeeStatus.valueOf(rs.getString(2)));
+            if (rs.getBoolean(3)) {
+                inserted.add(rs.getLong(1));
+            }
+        });
+        return new JoinOutcome(statuses, inserted, 0);
+    }
+
+    /** Free seats, 0 if there is no such event. Must run inside a transaction. */
+    private int lockFreeSeats(long eventId) {
+        final List<Integer> free = jdbcTemplate.queryForList(LOCK_FREE_SEATS, Integer.class, Integer.MAX_VALUE, eventId);
+        return free.isEmpty() ? 0 : free.getFirst();
+    }
+
+    private List<Long> promoteWaitlisted(long eventId, int free) {
+        return free > 0 ? jdbcTemplate.queryForList(PROMOTE, Long.class, eventId, free) : List.of();
+    }
+
+    private void takeSeats(long eventId, int seats) {
+        if (seats > 0) {
+            jdbcTemplate.update("update events set current_capacity = coalesce(current_capacity, 0) + ? where id = ?",
+                    seats, eventId);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.lokummeet.backend.rsvp;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lokummeet.backend.cache.EventChangedEvent;
+import com.lokummeet.backend.entity.AttendeeStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Joins and waitlist for popular events without queueing every request on the event row.
+ *
+ * <p>A join that finds no free seat is written as a waitlist entry, so a full event answers with a
+ * place in the queue rather than an error to retry, and a user has at most one entry per event
+ * however often they ask. Once anyone is waiting, seats go to the head of the waitlist first.
+ *
+ * <p>Joins are queued and written by a few flusher threads: everything queued for one event goes
+ * out as one insert, so a rush costs one statement per batch. Batches form on their own while the
+ * previous flush is running; there is no linger delay. Only batches that may get a seat take the
+ * event row lock. That is decided by an in-memory count of seats left per event, seeded
+ * from the database and taken with a CAS; once it reaches zero, the rest of the rush only adds to
+ * the waitlist, without the lock as soon as the database shows the event full. Every answer is the
+ * user's status once their batch committed, so nobody told to wait is seated by the same rush.
+ *
+ * <p>Freed seats are filled by a promotion worker: a leave, or an edit that may have raised the
+ * capacity, schedules the event, and the worker promotes as many waiting users as there are free
+ * seats in one statement. Promotion works from committed state, so scheduling an event twice or
+ * from several replicas is harmless, and a sweep every {@code events.rsvp.promotion-sweep-interval}
+ * catches anything a crash or another replica left behind.
+ *
+ * <p>The database stays the authority. A counter that is off only changes who takes the row lock;
+ * it is dropped whenever a batch or promotion shows it was, and expires after
+ * {@code events.rsvp.counter-ttl} to pick up seats freed elsewhere.
+ */
+@Slf4j
+@Component
+public class JoinEngine {
+    private record PendingJoin(long eventId, long userId, boolean seat, CompletableFuture<JoinResult> result) {
+    }
+
+    private final AttendeeStore attendeeStore;
+    private final Cache<Long, AtomicInteger> seatsLeft;
+    private final BlockingQueue<PendingJoin> joins = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Long> promotions = new LinkedBlockingQueue<>();
+    private final Set<Long> scheduledPromotions = ConcurrentHashMap.newKeySet();
+    private final int maxBatchSize;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public JoinEngine(AttendeeStore attendeeStore,
+                      @Value("${events.rsvp.flush-threads:2}") int flushThreads,
+                      @Value("${events.rsvp.max-batch-size:500}") int maxBatchSize,
+                      @Value("${events.rsvp.counter-ttl:30s}") Duration counterTtl) {
+        this.attendeeStore = attendeeStore;
+        this.maxBatchSize = maxBatchSize;
+        this.seatsLeft = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(counterTtl).build();
+        for (int i = 0; i < flushThreads; i++) {
+            workers.add(Thread.ofPlatform().name("rsvp-flush-" + i).daemon().start(this::flushLoop));
+        }
+        workers.add(Thread.ofPlatform().name("rsvp-promote").daemon().start(this::promotionLoop));
+    }
+
+    /**
+     * Completes with the outcome once the join is committed, or with {@code null} right away if
+     * there is no such event.
+     */
+    public CompletableFuture<JoinResult> join(long eventId, long userId) {
+        final AtomicInteger seats = seatsLeft.get(eventId, id -> {
+            final Integer remaining = attendeeStore.findRemainingSeats(id);
+            return remaining == null ? null : new AtomicInteger(remaining);
+        });
+        if (seats == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final PendingJoin pending = new PendingJoin(eventId, userId, tryTake(seats), new CompletableFuture<>());
+        joins.add(pending);
+        return pending.result();
+    }
+
+    /**
+     * {@code false} if the user was not on the event. Leaves are rare and go straight to the
+     * database; a freed seat is filled from the waitlist shortly after.
+     */
+    public boolean leave(long eventId, long userId) {
+        final AttendeeStatus was = attendeeStore.leave(eventId, userId);
+        if (was == AttendeeStatus.JOINED) {
+            schedulePromotion(eventId);
+        }
+        return was != null;
+    }
+
+    /** Capacity may have been edited or the event deleted; the next join re-reads it. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        seatsLeft.invalidate(event.getEventId());
+        schedulePromotion(event.getEventId());
+    }
+
+    @Scheduled(initialDelayString = "${events.rsvp.promotion-sweep-interval:1m}",
+            fixedDelayString = "${events.rsvp.promotion-sweep-interval:1m}")
+    public void sweepPromotions() {
+        attendeeStore.findPromotableEvents().forEach(this::schedulePromotion);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void schedulePromotion(long eventId) {
+        // an event already waiting for the worker is not queued twice
+        if (scheduledPromotions.add(eventId)) {
+            promotions.add(eventId);
+        }
+    }
+
+    private static boolean tryTake(AtomicInteger seats) {
+        int left;
+        do {
+            left = seats.get();
+            if (left <= 0) {
+                return false;
+            }
+        } while (!seats.compareAndSet(left, left - 1));
+        return true;
+    }
+
+    private void promotionLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            final long eventId;
+            try {
+                eventId = promotions.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            scheduledPromotions.remove(eventId);
+            try {
+                final int promoted = attendeeStore.promote(eventId);
+                log.debug("Promoted {} waitlisted users on event {}", promoted, eventId);
+            } catch (RuntimeException e) {
+                // left for the next sweep
+                log.warn("Failed to promote the waitlist of event {}", eventId, e);
+            }
+            // whatever the promotion left free is only visible to a fresh count
+            seatsLeft.invalidate(eventId);
+        }
+    }
+
+    private void flushLoop() {
+        final List<PendingJoin> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(joins.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            joins.drainTo(batch, maxBatchSize - 1);
+            final Map<Long, List<PendingJoin>> byEvent = new LinkedHashMap<>();
+            batch.forEach(pending -> byEvent.computeIfAbsent(pending.eventId(), id -> new ArrayList<>()).add(pending));
+            byEvent.forEach((eventId, pendingJoins) -> {
+                try {
+                    flush(eventId, pendingJoins);
+                } catch (RuntimeException e) {
+                    // every caller hears back, and the thread lives on to flush the next batch
+                    log.warn("Failed to write {} joins for event {}", pendingJoins.size(), eventId, e);
+                    seatsLeft.invalidate(eventId);
+                    pendingJoins.forEach(pending -> pending.result().completeExceptionally(e));
+                }
+            });
+            batch.clear();
+        }
+    }
+
+    private void flush(long eventId, List<PendingJoin> pendingJoins) {
+        final int seats = (int) pendingJoins.stream().filter(PendingJoin::seat).count();
+        final AttendeeStore.JoinOutcome outcome = attendeeStore.join(eventId,
+                pendingJoins.stream().map(PendingJoin::userId).distinct().toList(), seats > 0);
+        if (outcome.promoted() != seats) {
+            // the count promised seats that were not there, or missed some that were; dropped before
+            // the callers hear back, so their next join already sees a fresh count
+            seatsLeft.invalidate(eventId);
+        }
+        final Set<Long> inserted = new HashSet<>(outcome.inserted());
+        for (PendingJoin pending : pendingJoins) {
+            final boolean isNew = inserted.remove(pending.userId());
+            final AttendeeStatus status = outcome.statuses().get(pending.userId());
+            if (status == null) {
+                // the row is gone again, e.g. the event was deleted under the batch; the join did not happen
+                log.warn("No attendee row for user {} on event {} after the join", pending.userId(), eventId);
+                seatsLeft.invalidate(eventId);
+                pending.result().completeExceptionally(new IllegalStateException(
+                        "Join of user " + pending.userId() + " to event " + eventId + " left no attendee row"));
+                continue;
+            }
+            pending.result().complete(switch (status) {
+                case JOINED -> isNew ? JoinResult.JOINED : JoinResult.ALREADY_JOINED;
+                case WAITLISTED -> JoinResult.WAITLISTED;
+            });
+        }
+    }
+}
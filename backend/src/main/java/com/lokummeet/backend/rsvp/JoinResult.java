@@ -0,0 +1,9 @@
+package com.lokummeet.backend.rsvp;
+
+public enum JoinResult {
+    JOINED,
+    /** The user already had a seat; nothing changed. */
+    ALREADY_JOINED,
+    /** The event is full; the user is queued and will be promoted when a seat frees up. */
+    WAITLISTED
+}
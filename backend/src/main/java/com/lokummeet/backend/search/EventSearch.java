@@ -0,0 +1,20 @@
+package com.lokummeet.backend.search;
+
+import com.lokummeet.backend.dto.SearchCursor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ranked full-text search over event title, description and location. Matches must contain every
+ * query term; results are ordered by rank, best first, then by id.
+ */
+public interface EventSearch {
+
+    /**
+     * @param after  only events dated after this day
+     * @param cursor last hit of the previous page, or {@code null} for the first page
+     * @param limit  maximum number of hits to return
+     */
+    List<SearchHit> search(String query, LocalDate after, SearchCursor cursor, int limit);
+}
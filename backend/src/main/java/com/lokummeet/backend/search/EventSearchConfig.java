@@ -0,0 +1,51 @@
+package com.lokummeet.backend.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Picks the search implementation from {@code events.search.engine}: {@code postgres}, {@code memory},
+ * or {@code auto} (the default), which uses Postgres whenever the datasource is Postgres.
+ */
+@Slf4j
+@Configuration
+public class EventSearchConfig {
+
+    /** Depends on the entity manager so Hibernate has created {@code events} before the search column is added. */
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public EventSearch eventSearch(DataSource dataSource,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${events.search.engine:auto}") String engine,
+                                   @Value("${events.search.text-search-config:polish}") String textSearchConfig,
+                                   @Value("${events.search.max-candidates:1000}") int maxCandidates) throws SQLException {
+        final boolean postgres = switch (engine) {
+            case "postgres" -> true;
+            case "memory" -> false;
+            case "auto" -> isPostgres(dataSource);
+            default -> throw new IllegalArgumentException("Unknown events.search.engine: " + engine);
+        };
+        if (!postgres) {
+            log.info("Event search uses the in-memory index");
+            return new InMemoryEventSearch();
+        }
+        final PostgresEventSearch search = new PostgresEventSearch(jdbcTemplate, textSearchConfig, maxCandidates);
+        search.initSchema();
+        log.info("Event search uses Postgres full-text search with configuration {}", search.getTextSearchConfig());
+        return search;
+    }
+
+    private static boolean isPostgres(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.lokummeet.backend.search;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.dto.SearchCursor;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index used when the database is not Postgres. Each posting packs a document number
+ * with a bit per field the term occurs in; ranks use the same field weights as the Postgres
+ * {@code ts_rank} setup (title A = 1.0, description B = 0.4, location C = 0.2). Updates append
+ * a new document and orphan the old one; the index is rebuilt once half of it is orphaned.
+ */
+public class InMemoryEventSearch implements EventSearch {
+    private static final int TITLE = 4;
+    private static final int DESCRIPTION = 2;
+    private static final int LOCATION = 1;
+    private static final int FIELD_BITS = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntList> postings = new HashMap<>();
+    /** Document number to document; {@code null} once replaced or removed. */
+    private final List<SearchDocument> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentNumbers = new HashMap<>();
+    private int orphaned;
+
+    public void index(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            orphan(document.id());
+            append(document);
+            if (orphaned > documents.size() / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            orphan(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<SearchHit> search(String query, LocalDate after, SearchCursor cursor, int limit) {
+        final List<String> terms = PolishAnalyzer.terms(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            final List<IntList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                final IntList list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // drive the intersection from the rarest term
+            lists.sort(Comparator.comparingInt(IntList::size));
+
+            // worst hit on top, so it is the one dropped when the heap overflows
+            final PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, Comparator
+                    .comparingDouble(SearchHit::rank)
+                    .thenComparing(hit -> hit.card().getId(), Comparator.reverseOrder()));
+            final IntList driver = lists.getFirst();
+            candidates:
+            for (int i = 0; i < driver.size(); i++) {
+                final int posting = driver.get(i);
+                final int documentNumber = posting >>> FIELD_BITS;
+                final SearchDocument document = documents.get(documentNumber);
+                if (document == null || !document.dateEvent().isAfter(after)) {
+                    continue;
+                }
+                float rank = weight(posting);
+                for (int l = 1; l < lists.size(); l++) {
+                    final int other = lists.get(l).find(documentNumber);
+                    if (other < 0) {
+                        continue candidates;
+                    }
+                    rank += weight(other);
+                }
+                if (cursor != null && !cursor.precedes(rank, document.id())) {
+                    continue;
+                }
+                top.add(new SearchHit(card(document), rank));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            final List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(SearchHit::rank).reversed()
+                    .thenComparing(hit -> hit.card().getId()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(SearchDocument document) {
+        final int documentNumber = documents.size();
+        documents.add(document);
+        documentNumbers.put(document.id(), documentNumber);
+
+        final Map<String, Integer> fields = new HashMap<>();
+        PolishAnalyzer.terms(document.title()).forEach(term -> fields.merge(term, TITLE, (a, b) -> a | b));
+        PolishAnalyzer.terms(document.description()).forEach(term -> fields.merge(term, DESCRIPTION, (a, b) -> a | b));
+        PolishAnalyzer.terms(document.location()).forEach(term -> fields.merge(term, LOCATION, (a, b) -> a | b));
+        fields.forEach((term, mask) ->
+                postings.computeIfAbsent(term, t -> new IntList()).add(documentNumber << FIELD_BITS | mask));
+    }
+
+    private void orphan(Long eventId) {
+        final Integer previous = documentNumbers.remove(eventId);
+        if (previous != null) {
+            documents.set(previous, null);
+            orphaned++;
+        }
+    }
+
+    private void compact() {
+        final List<SearchDocument> live = documents.stream().filter(Objects::nonNull).toList();
+        postings.clear();
+        documents.clear();
+        documentNumbers.clear();
+        orphaned = 0;
+        live.forEach(this::append);
+    }
+
+    private static float weight(int posting) {
+        float weight = 0;
+        if ((posting & TITLE) != 0) {
+            weight += 1.0f;
+        }
+        if ((posting & DESCRIPTION) != 0) {
+            weight += 0.4f;
+        }
+        if ((posting & LOCATION) != 0) {
+            weight += 0.2f;
+        }
+        return weight;
+    }
+
+    private static EventCardDTO card(SearchDocument document) {
+        final String description = document.description();
+        return new EventCardDTO(document.id(), document.dateEvent(), document.startTime(), document.title(),
+                description == null || description.length() <= EventCardDTO.DESCRIPTION_PREVIEW_LENGTH
+                        ? description
+                        : description.substring(0, EventCardDTO.DESCRIPTION_PREVIEW_LENGTH));
+    }
+
+    /** Growable int array; postings are appended in document-number order, so they stay sorted. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        /** Posting for the document, or -1. */
+        int find(int documentNumber) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int current = values[mid] >>> FIELD_BITS;
+                if (current < documentNumber) {
+                    low = mid + 1;
+                } else if (current > documentNumber) {
+                    high = mid - 1;
+                } else {
+                    return values[mid];
+                }
+            }
+            return -1;
+        }
+    }
+}
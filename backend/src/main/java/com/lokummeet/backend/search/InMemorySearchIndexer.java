@@ -0,0 +1,52 @@
+package com.lokummeet.backend.search;
+
+import com.lokummeet.backend.cache.EventChangedEvent;
+import com.lokummeet.backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/** Loads and maintains {@link InMemoryEventSearch} when it is the active search; idle otherwise. */
+@Slf4j
+@Component
+public class InMemorySearchIndexer {
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    private final EventSearch eventSearch;
+    private final EventRepository eventRepository;
+
+    public InMemorySearchIndexer(EventSearch eventSearch, EventRepository eventRepository) {
+        this.eventSearch = eventSearch;
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!(eventSearch instanceof InMemoryEventSearch index)) {
+            return;
+        }
+        long after = 0;
+        List<SearchDocument> batch;
+        do {
+            batch = eventRepository.findSearchDocumentsAfter(after, Limit.of(LOAD_BATCH_SIZE));
+            batch.forEach(index::index);
+            if (!batch.isEmpty()) {
+                after = batch.getLast().id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Indexed {} events for search", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (eventSearch instanceof InMemoryEventSearch index) {
+            eventRepository.findSearchDocument(event.getEventId())
+                    .ifPresentOrElse(index::index, () -> index.remove(event.getEventId()));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.lokummeet.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns text into index terms for {@link InMemoryEventSearch}: lower-cases, splits on anything that
+ * is not a letter or digit, drops stop words and strips common Polish inflection suffixes, so
+ * "kino", "kina" and "kinie" share a term. Far cruder than an ispell dictionary, but good enough for
+ * the fallback index and for prefix queries when Postgres has no Polish dictionary.
+ */
+public final class PolishAnalyzer {
+    private static final Locale POLISH = Locale.forLanguageTag("pl");
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "aby", "ale", "bo", "by", "być", "czy", "dla", "do", "i", "ich", "jak", "jest", "już",
+            "na", "nie", "o", "od", "oraz", "po", "pod", "przy", "się", "są", "ta", "te", "to", "tu",
+            "w", "we", "z", "za", "ze", "że");
+
+    /** Longest first, so "ami" wins over "i". */
+    private static final String[] SUFFIXES = {
+            "ościami", "owiach", "ościach", "ością", "ości", "ami", "ach", "owi", "ego", "emu", "ymi",
+            "imi", "ych", "ich", "ów", "om", "em", "ie", "iu", "ia", "ią", "ię", "ej", "ym", "im",
+            "a", "ą", "ę", "e", "i", "o", "u", "y"};
+
+    private PolishAnalyzer() {
+    }
+
+    public static List<String> terms(String text) {
+        final List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        final String lower = text.toLowerCase(POLISH);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            final boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                final String token = lower.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        for (String suffix : SUFFIXES) {
+            if (token.length() - suffix.length() >= MIN_STEM_LENGTH && token.endsWith(suffix)) {
+                return token.substring(0, token.length() - suffix.length());
+            }
+        }
+        return token;
+    }
+}
@@ -0,0 +1,176 @@
+package com.lokummeet.backend.search;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.dto.SearchCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Search over a stored, generated {@code events.search_vector} column with a GIN index. Title,
+ * description and location are weighted A, B and C, and hits are ranked with {@code ts_rank}.
+ * The column and index are not JPA-mapped; {@link #initSchema()} creates them idempotently.
+ */
+@Slf4j
+public class PostgresEventSearch implements EventSearch {
+    static final String FALLBACK_CONFIG = "simple";
+
+    private static final Pattern REGCONFIG = Pattern.compile("'(\\w+)'::regconfig");
+
+    private static final String COLUMN_EXPRESSION = """
+            setweight(to_tsvector('%1$s'::regconfig, coalesce(title, '')), 'A')
+            || setweight(to_tsvector('%1$s'::regconfig, coalesce(description, '')), 'B')
+            || setweight(to_tsvector('%1$s'::regconfig, coalesce(location, '')), 'C')""";
+
+    /*
+     * Ranking is bounded to the max-candidates soonest matches: a term found in a third of all events
+     * would otherwise rank hundreds of thousands of rows per request. The candidates are ordered before
+     * they are cut, so every page ranks the same set and the keyset cursor stays stable. The "+ 0"s
+     * keep the planner from walking the date or primary key index in the hope of filling the limit
+     * early, which takes the whole table when two common terms never co-occur.
+     */
+    private static final String SEARCH = """
+            select * from (
+                select c.*, ts_rank(c.search_vector, q) as rank
+                from (
+                    select e.id, e.date_event, e.start_time, e.title,
+                           substring(e.description, 1, %1$d) as preview, e.search_vector
+                    from events e, %2$s q
+                    where e.search_vector @@ q
+                      and e.date_event + 0 > ?
+                    order by e.date_event + 0, e.id + 0
+                    limit ?
+                ) c, %2$s q
+            ) r
+            """;
+
+    private static final String WEB_SEARCH = SEARCH.formatted(
+            EventCardDTO.DESCRIPTION_PREVIEW_LENGTH, "websearch_to_tsquery(?::regconfig, ?)");
+
+    private static final String PREFIX_SEARCH = SEARCH.formatted(
+            EventCardDTO.DESCRIPTION_PREVIEW_LENGTH, "to_tsquery(?::regconfig, ?)");
+
+    private static final String AFTER_CURSOR = """
+            where r.rank < ? or (r.rank = ? and r.id > ?)
+            """;
+
+    private static final String ORDER = """
+            order by r.rank desc, r.id
+            limit ?
+            """;
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) -> new SearchHit(
+            new EventCardDTO(rs.getLong("id"),
+                    rs.getObject("date_event", LocalDate.class),
+                    rs.getTimestamp("start_time").toLocalDateTime(),
+                    rs.getString("title"),
+                    rs.getString("preview")),
+            rs.getFloat("rank"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxCandidates;
+    private String textSearchConfig;
+
+    public PostgresEventSearch(JdbcTemplate jdbcTemplate, String textSearchConfig, int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.textSearchConfig = textSearchConfig;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public String getTextSearchConfig() {
+        return textSearchConfig;
+    }
+
+    @Override
+    public List<SearchHit> search(String query, LocalDate after, SearchCursor cursor, int limit) {
+        final String search;
+        final String tsQuery;
+        if (FALLBACK_CONFIG.equals(textSearchConfig)) {
+            // no stemmer in Postgres: match the analyzer's stems as prefixes, so "kino" finds "kinem"
+            final List<String> terms = PolishAnalyzer.terms(query);
+            if (terms.isEmpty()) {
+                return List.of();
+            }
+            search = PREFIX_SEARCH;
+            tsQuery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        } else {
+            search = WEB_SEARCH;
+            tsQuery = query;
+        }
+        if (cursor == null) {
+            return jdbcTemplate.query(search + ORDER, HIT_MAPPER,
+                    textSearchConfig, tsQuery, after, maxCandidates, textSearchConfig, tsQuery, limit);
+        }
+        return jdbcTemplate.query(search + AFTER_CURSOR + ORDER, HIT_MAPPER,
+                textSearchConfig, tsQuery, after, maxCandidates, textSearchConfig, tsQuery,
+                cursor.getRank(), cursor.getRank(), cursor.getId(), limit);
+    }
+
+    /**
+     * Makes sure the text search configuration, the generated column and its GIN index exist. An
+     * existing column is never rewritten at startup: if it was generated with another configuration,
+     * search keeps using that one, and switching is a one-off migration (drop the column and restart).
+     */
+    public void initSchema() {
+        textSearchConfig = ensureTextSearchConfig(textSearchConfig);
+        final List<String> current = jdbcTemplate.queryForList("""
+                select pg_get_expr(d.adbin, d.adrelid)
+                from pg_attribute a
+                join pg_attrdef d on d.adrelid = a.attrelid and d.adnum = a.attnum
+                where a.attrelid = 'events'::regclass and a.attname = 'search_vector' and not a.attisdropped
+                """, String.class);
+        if (current.isEmpty()) {
+            log.info("Adding events.search_vector with text search configuration {}", textSearchConfig);
+            jdbcTemplate.execute("alter table events add column search_vector tsvector generated always as ("
+                    + COLUMN_EXPRESSION.formatted(textSearchConfig) + ") stored");
+        } else {
+            final Matcher generatedWith = REGCONFIG.matcher(current.getFirst());
+            final String columnConfig = generatedWith.find() ? generatedWith.group(1) : textSearchConfig;
+            if (!columnConfig.equals(textSearchConfig)) {
+                log.warn("events.search_vector was generated with {}, not {}; searching with {} until the column "
+                        + "is dropped and rebuilt", columnConfig, textSearchConfig, columnConfig);
+            }
+            textSearchConfig = columnConfig;
+        }
+        jdbcTemplate.execute("create index if not exists idx_events_search_vector on events using gin (search_vector)");
+    }
+
+    /**
+     * Postgres ships no Polish stemmer. For {@code polish} we build a configuration on the ispell
+     * dictionary files ({@code polish.dict}, {@code polish.affix}, {@code polish.stop} in
+     * {@code $SHAREDIR/tsearch_data}) when they are installed, and fall back to {@code simple} otherwise.
+     */
+    private String ensureTextSearchConfig(String name) {
+        final Integer existing = jdbcTemplate.queryForObject(
+                "select count(*) from pg_ts_config where cfgname = ?", Integer.class, name);
+        if (existing != null && existing > 0) {
+            return name;
+        }
+        if (!"polish".equals(name)) {
+            log.warn("Text search configuration {} does not exist, using {}", name, FALLBACK_CONFIG);
+            return FALLBACK_CONFIG;
+        }
+        try {
+            jdbcTemplate.execute("""
+                    create text search dictionary polish_ispell (
+                        template = ispell, dictfile = polish, afffile = polish, stopwords = polish)""");
+            jdbcTemplate.execute("create text search configuration polish (copy = simple)");
+            jdbcTemplate.execute("""
+                    alter text search configuration polish
+                        alter mapping for asciiword, asciihword, hword_asciipart, word, hword, hword_part
+                        with polish_ispell, simple""");
+            return name;
+        } catch (DataAccessException e) {
+            log.warn("Polish ispell dictionary is not installed, searching with {}: {}",
+                    FALLBACK_CONFIG, e.getMostSpecificCause().getMessage());
+            return FALLBACK_CONFIG;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.lokummeet.backend.search;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** The searchable columns of one event, as read by {@link InMemoryEventSearch}. */
+public record SearchDocument(Long id, String title, String description, String location,
+                             LocalDate dateEvent, LocalDateTime startTime) {
+}
@@ -0,0 +1,12 @@
+package com.lokummeet.backend.search;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.dto.SearchCursor;
+
+/** A matching event as a card, with the rank it was ordered by. */
+public record SearchHit(EventCardDTO card, float rank) {
+
+    public SearchCursor cursor() {
+        return new SearchCursor(rank, card.getId());
+    }
+}
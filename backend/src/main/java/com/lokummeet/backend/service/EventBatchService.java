@@ -0,0 +1,52 @@
+package com.lokummeet.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.dto.EventDTO;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Event details for many ids at once, sharing {@code EVENT_DETAIL} with the single-id path.
+ * Separate from {@link EventService} because the cache manager already depends on that service
+ * for refreshing entries.
+ */
+@Service
+public class EventBatchService {
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final CacheManager cacheManager;
+    private final EventService eventService;
+
+    public EventBatchService(CacheManager cacheManager, EventService eventService) {
+        this.cacheManager = cacheManager;
+        this.eventService = eventService;
+    }
+
+    /**
+     * Details of {@code ids} in the given order, skipping ids without an event. Cached entries are
+     * reused and all misses are loaded together by {@link EventService#loadEventDTOs}, then cached.
+     */
+    @SuppressWarnings("unchecked")
+    public List<EventDTO> findEventDTOs(List<Long> ids) {
+        final Cache<Object, Object> cache =
+                (Cache<Object, Object>) cacheManager.getCache(CacheName.EVENT_DETAIL.name()).getNativeCache();
+        final Map<Object, Object> found = cache.getAll(ids, missing -> load((Set<Long>) missing));
+        return ids.stream()
+                .map(found::get)
+                .filter(EventDTO.class::isInstance)
+                .map(EventDTO.class::cast)
+                .toList();
+    }
+
+    private Map<Long, EventDTO> load(Set<Long> ids) {
+        return eventService.loadEventDTOs(ids).stream()
+                .collect(Collectors.toMap(EventDTO::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.lokummeet.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lokummeet.backend.ApiException;
+import com.lokummeet.backend.export.EventExportRow;
+import com.lokummeet.backend.export.EventExportWriter;
+import com.lokummeet.backend.export.ExportFormat;
+import com.lokummeet.backend.export.IdleTimeoutOutputStream;
+import com.lokummeet.backend.repository.EventRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Bulk export of events between two dates. Rows go from a database cursor straight to the client
+ * socket, so memory stays flat whatever the range and a slow reader slows the cursor down. Each
+ * export holds a connection for as long as the client takes, hence the caps on concurrent exports:
+ * a few per caller, so one partner cannot take every slot, and a few overall.
+ */
+@Slf4j
+@Service
+public class EventExportService {
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore running;
+    private final ConcurrentMap<String, Integer> runningByCaller = new ConcurrentHashMap<>();
+    private final int maxPerCaller;
+    private final Duration idleTimeout;
+
+    public EventExportService(EventRepository eventRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${events.export.max-concurrent:4}") int maxConcurrent,
+                              @Value("${events.export.max-per-caller:1}") int maxPerCaller,
+                              @Value("${events.export.idle-timeout:30s}") Duration idleTimeout) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.running = new Semaphore(maxConcurrent);
+        this.maxPerCaller = maxPerCaller;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Body writing events on days {@code from..to} for {@code caller}. The export slots are taken
+     * here, before the response is committed, so a busy server can still answer with a proper 429
+     * or 503. They are given back when the body finishes, or when async processing ends without it,
+     * as when it times out or fails before the body ran. The body times out only after
+     * {@code idle-timeout} without writing anything.
+     */
+    public StreamingResponseBody export(LocalDate from, LocalDate to, ExportFormat format,
+                                        String caller, HttpServletRequest request) {
+        if (from.isAfter(to)) {
+            throw ApiException.builder().status(400).message("from must not be after to").build();
+        }
+        if (runningByCaller.merge(caller, 1, Integer::sum) > maxPerCaller) {
+            releaseCallerSlot(caller);
+            throw ApiException.builder().status(429).message("Your previous export is still running").build();
+        }
+        if (!running.tryAcquire()) {
+            releaseCallerSlot(caller);
+            throw ApiException.builder().status(503).message("Too many exports running, try again later").build();
+        }
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                running.release();
+                releaseCallerSlot(caller);
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EventExportService.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                });
+        return body -> {
+            // the body runs once async processing has started, so the context exists by now
+            final OutputStream out = request.isAsyncStarted()
+                    ? new IdleTimeoutOutputStream(body, request.getAsyncContext(), idleTimeout)
+                    : body;
+            try (EventExportWriter writer = format.open(out, objectMapper)) {
+                final long rows = transactionTemplate.execute(status -> {
+                    try (Stream<EventExportRow> stream = eventRepository.streamExportRows(from, to)) {
+                        long count = 0;
+                        for (Iterator<EventExportRow> it = stream.iterator(); it.hasNext(); count++) {
+                            writer.write(it.next());
+                        }
+                        return count;
+                    } catch (IOException e) {
+                        // client went away; rolling back closes the cursor
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.debug("Exported {} events from {} to {} as {}", rows, from, to, format);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private void releaseCallerSlot(String caller) {
+        runningByCaller.computeIfPresent(caller, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
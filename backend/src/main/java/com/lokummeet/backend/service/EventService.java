@@ -1,21 +1,87 @@
 package com.lokummeet.backend.service;
 
+import com.lokummeet.backend.ApiException;
+import com.lokummeet.backend.cache.EventChangedEvent;
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.dto.ContentVersion;
+import com.lokummeet.backend.dto.CreatorSummaryDTO;
+import com.lokummeet.backend.dto.CursorPageDTO;
 import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.dto.EventCursor;
 import com.lokummeet.backend.dto.EventDTO;
+import com.lokummeet.backend.dto.FeedVersionView;
+import com.lokummeet.backend.dto.NearbyEventDTO;
+import com.lokummeet.backend.dto.SearchCursor;
+import com.lokummeet.backend.dto.UserProfileDTO;
 import com.lokummeet.backend.entity.Event;
+import com.lokummeet.backend.entity.UserRoles;
+import com.lokummeet.backend.geo.GeoHash;
+import com.lokummeet.backend.geo.LocatedEvent;
+import com.lokummeet.backend.geo.NearbySort;
 import com.lokummeet.backend.mapper.EventCardMapper;
 import com.lokummeet.backend.mapper.EventMapper;
+import com.lokummeet.backend.repository.EventAttendeeRepository;
+import com.lokummeet.backend.repository.EventRepository;
+import com.lokummeet.backend.repository.UserRepository;
+import com.lokummeet.backend.search.EventSearch;
+import com.lokummeet.backend.search.SearchHit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class EventService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Circles a nearest-first search may try, the first of them an eighth of the requested radius. */
+    private static final int NEARBY_RINGS = 4;
+
     private final EventCardMapper eventCardMapper;
     private final EventMapper eventMapper;
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository eventAttendeeRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventSearch eventSearch;
+    private final double maxNearbyRadiusKm;
+    private final int nearbyBatchSize;
 
     public EventService(EventCardMapper eventCardMapper,
-                        EventMapper eventMapper) {
+                        EventMapper eventMapper,
+                        EventRepository eventRepository,
+                        EventAttendeeRepository eventAttendeeRepository,
+                        UserRepository userRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        EventSearch eventSearch,
+                        @Value("${events.nearby.max-radius-km:100}") double maxNearbyRadiusKm,
+                        @Value("${events.nearby.batch-size:2000}") int nearbyBatchSize) {
         this.eventCardMapper = eventCardMapper;
         this.eventMapper = eventMapper;
+        this.eventRepository = eventRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.eventSearch = eventSearch;
+        this.maxNearbyRadiusKm = maxNearbyRadiusKm;
+        this.nearbyBatchSize = nearbyBatchSize;
     }
 
     public EventCardDTO getEventCardDTO(Event event) {
@@ -34,5 +100,263 @@ public class EventService {
         return eventMapper.toEntity(eventDTO);
     }
 
+    /**
+     * {@code sync} collapses concurrent misses for the same id into one load: the other callers
+     * wait for it instead of each querying the database.
+     */
+    @Cacheable(cacheNames = CacheName.Fields.EVENT_DETAIL, key = "#id", sync = true)
+    public Optional<EventDTO> findEventDTO(Long id) {
+        return Optional.ofNullable(loadEventDTO(id));
+    }
+
+    /**
+     * Uncached read behind {@link #findEventDTO}; also used by the cache to refresh entries.
+     * The creator is read as a {@link CreatorSummaryDTO} projection, never as a {@code User} entity.
+     */
+    @Transactional(readOnly = true)
+    public EventDTO loadEventDTO(Long id) {
+        return eventRepository.findById(id)
+                .map(event -> withCreators(List.of(event)).getFirst())
+                .orElse(null);
+    }
+
+    /** Details of {@code ids} that exist, in no particular order: one query for the events and one for all their creators. */
+    @Transactional(readOnly = true)
+    public List<EventDTO> loadEventDTOs(Collection<Long> ids) {
+        return withCreators(eventRepository.findAllById(ids));
+    }
+
+    private List<EventDTO> withCreators(Iterable<Event> events) {
+        final Map<Long, Long> creatorByEvent = new HashMap<>();
+        final List<EventDTO> dtos = new ArrayList<>();
+        for (Event event : events) {
+            // the id of an uninitialized proxy is known without loading the user
+            creatorByEvent.put(event.getId(), event.getCreatedBy().getId());
+            dtos.add(eventMapper.toDto(event));
+        }
+        if (dtos.isEmpty()) {
+            return dtos;
+        }
+        final Map<Long, CreatorSummaryDTO> creators = userRepository
+                .findCreatorSummariesByIdIn(creatorByEvent.values().stream().distinct().toList()).stream()
+                .collect(Collectors.toMap(CreatorSummaryDTO::getId, Function.identity()));
+        dtos.forEach(dto -> dto.setCreatedBy(creators.get(creatorByEvent.get(dto.getId()))));
+        return dtos;
+    }
+
+    /**
+     * Validators for {@code /events/{id}}, read without loading or mapping the event so a
+     * revalidation can be answered before any of that work.
+     */
+    @Cacheable(cacheNames = CacheName.Fields.EVENT_VERSION, key = "#id", sync = true)
+    public Optional<ContentVersion> findEventVersion(Long id) {
+        return eventRepository.findVersionById(id)
+                .map(version -> new ContentVersion(
+                        "W/\"e" + version.getId() + "-" + epochMillis(version.getUpdatedAt()) + "\"",
+                        toInstant(version.getUpdatedAt())));
+    }
+
+    /** Validators for the upcoming-events feed; keyed by day because the feed drops past events at midnight. */
+    @Cacheable(cacheNames = CacheName.Fields.FEED_VERSION, key = "#today")
+    public ContentVersion feedVersion(LocalDate today) {
+        final FeedVersionView version = eventRepository.findFeedVersion();
+        return new ContentVersion(
+                "W/\"f" + today.toEpochDay() + "-" + version.getCount() + "-" + epochMillis(version.getLastModified()) + "\"",
+                toInstant(version.getLastModified()));
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? 0 : toInstant(time).toEpochMilli();
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time == null ? null : time.atZone(ZoneId.systemDefault()).toInstant();
+    }
 
+    /** Creates an event organized by {@code organizer}. */
+    @Transactional
+    public EventDTO createEvent(EventDTO dto, UserProfileDTO organizer) {
+        final Event event = new Event();
+        eventMapper.updateEntity(dto, event);
+        event.setCreatedBy(userRepository.getReferenceById(organizer.getId()));
+        validate(event);
+        return withCreators(List.of(saveEvent(event))).getFirst();
+    }
+
+    /** Edits an event as its organizer or an admin; fields left out of {@code dto} keep their value. */
+    @Transactional
+    public EventDTO updateEvent(Long id, EventDTO dto, UserProfileDTO user) {
+        checkOrganizer(id, user);
+        final Event event = eventRepository.findById(id)
+                .orElseThrow(() -> ApiException.builder().status(404).message("Event not found").build());
+        eventMapper.updateEntity(dto, event);
+        validate(event);
+        return withCreators(List.of(saveEvent(event))).getFirst();
+    }
+
+    /** Deletes an event and its attendees as its organizer or an admin. */
+    @Transactional
+    public void deleteEvent(Long id, UserProfileDTO user) {
+        checkOrganizer(id, user);
+        eventAttendeeRepository.deleteByEventId(id);
+        deleteEvent(id);
+    }
+
+    /**
+     * Every event write goes through here or {@link #deleteEvent(Long)}: the {@link EventChangedEvent}
+     * they publish is what evicts caches and updates facets, the search index and seat counts.
+     */
+    @Transactional
+    public Event saveEvent(Event event) {
+        final Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteEvent(Long id) {
+        eventRepository.deleteById(id);
+        eventPublisher.publishEvent(new EventChangedEvent(id));
+    }
+
+    /** Admins may manage any event, everyone else only the events they created. */
+    public void checkOrganizer(Long eventId, UserProfileDTO user) {
+        if (user.getUserRoles() != null && user.getUserRoles().contains(UserRoles.ROLE_ADMIN)) {
+            return;
+        }
+        final Long creatorId = eventRepository.findCreatorIdById(eventId)
+                .orElseThrow(() -> ApiException.builder().status(404).message("Event not found").build());
+        if (!Objects.equals(creatorId, user.getId())) {
+            throw ApiException.builder().status(403).message("Only the organizer can manage this event").build();
+        }
+    }
+
+    private static void validate(Event event) {
+        final Map<String, String> errors = new HashMap<>();
+        if (event.getTitle() == null || event.getTitle().isBlank()) {
+            errors.put("title", "required");
+        }
+        if (event.getLocation() == null || event.getLocation().isBlank()) {
+            errors.put("location", "required");
+        }
+        if (event.getDateEvent() == null) {
+            errors.put("dateEvent", "required");
+        }
+        if (event.getStartTime() == null) {
+            errors.put("startTime", "required");
+        }
+        if (event.getEndTime() == null) {
+            errors.put("endTime", "required");
+        } else if (event.getStartTime() != null && event.getEndTime().isBefore(event.getStartTime())) {
+            errors.put("endTime", "must not be before startTime");
+        }
+        if (event.getMaxCapacity() != null && event.getMaxCapacity() < 0) {
+            errors.put("maxCapacity", "must not be negative");
+        }
+        if (!errors.isEmpty()) {
+            throw ApiException.builder().status(400).message("Invalid event").errors(errors).build();
+        }
+    }
+
+    /** Events after {@code today}; the day is part of the key so a page cached yesterday is not served today. */
+    @Cacheable(cacheNames = CacheName.Fields.EVENT_CARD_FEED, key = "#today + ':' + #limit + ':' + #cursor")
+    public CursorPageDTO<EventCardDTO> getLatestEventCards(LocalDate today, String cursor, int limit) {
+        final int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        final Limit fetch = Limit.of(pageSize + 1);
+
+        final List<EventCardDTO> cards;
+        if (cursor == null || cursor.isBlank()) {
+            cards = eventRepository.findUpcomingCards(today, fetch);
+        } else {
+            final EventCursor after = EventCursor.decode(cursor);
+            cards = eventRepository.findUpcomingCardsAfter(today, after.getDateEvent(), after.getStartTime(), after.getId(), fetch);
+        }
+
+        return CursorPageDTO.of(cards, pageSize, card -> EventCursor.of(card).encode());
+    }
+
+    /**
+     * Upcoming events matching every term of {@code query}, best ranked first. Pages are cached
+     * briefly: popular queries are also the common terms that are most expensive to rank. Like the
+     * feed, {@code today} is part of the key so a page cached yesterday is not served today.
+     */
+    @Cacheable(cacheNames = CacheName.Fields.EVENT_SEARCH, key = "#today + ':' + #limit + ':' + #cursor + ':' + #query")
+    public CursorPageDTO<EventCardDTO> searchEvents(LocalDate today, String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw ApiException.builder().status(400).message("Search query is required").build();
+        }
+        final int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        final SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        final List<SearchHit> hits = eventSearch.search(query.strip(), today, after, pageSize + 1);
+        return CursorPageDTO.of(hits, pageSize, SearchHit::card, hit -> hit.cursor().encode());
+    }
+
+    /**
+     * Upcoming events within {@code radiusKm}, closest or soonest first. Candidates come from the
+     * geohash cells covering the circle and are then checked for exact distance. {@link NearbySort#TIME}
+     * reads the cells soonest first until a page is inside the circle. {@link NearbySort#DISTANCE}
+     * reads all of a small circle first and widens it, doubling the radius, until it holds a page:
+     * nothing outside a circle is closer than what is inside, so that page is the nearest overall.
+     */
+    public List<NearbyEventDTO> findNearby(double latitude, double longitude, double radiusKm, NearbySort sort, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw ApiException.builder().status(400).message("Invalid coordinates").build();
+        }
+        if (!(radiusKm > 0 && radiusKm <= maxNearbyRadiusKm)) {
+            throw ApiException.builder().status(400)
+                    .message("Radius must be between 0 and " + maxNearbyRadiusKm + " km").build();
+        }
+        final int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        final LocalDate today = LocalDate.now();
+
+        final List<NearbyEventDTO> found;
+        final Comparator<NearbyEventDTO> order;
+        if (sort == NearbySort.TIME) {
+            found = upcomingWithin(latitude, longitude, radiusKm, today, pageSize);
+            order = Comparator.comparing((NearbyEventDTO nearby) -> nearby.getEvent().getStartTime());
+        } else {
+            double ringKm = radiusKm / (1 << (NEARBY_RINGS - 1));
+            List<NearbyEventDTO> inRing = upcomingWithin(latitude, longitude, ringKm, today, Integer.MAX_VALUE);
+            while (inRing.size() < pageSize && ringKm < radiusKm) {
+                ringKm = Math.min(2 * ringKm, radiusKm);
+                inRing = upcomingWithin(latitude, longitude, ringKm, today, Integer.MAX_VALUE);
+            }
+            found = inRing;
+            order = Comparator.comparingDouble(NearbyEventDTO::getDistanceKm);
+        }
+        return found.stream()
+                .sorted(order.thenComparing(nearby -> nearby.getEvent().getId()))
+                .limit(pageSize)
+                .toList();
+    }
+
+    /**
+     * The first {@code wanted} upcoming events inside the circle, soonest first. The covering cells
+     * are read in keyset batches of {@code events.nearby.batch-size}, so no candidate is skipped
+     * however many events outside the circle share its cells.
+     */
+    private List<NearbyEventDTO> upcomingWithin(double latitude, double longitude, double radiusKm,
+                                                LocalDate today, int wanted) {
+        final List<GeoHash.Range> cells = GeoHash.covering(latitude, longitude, radiusKm);
+        final List<NearbyEventDTO> found = new ArrayList<>();
+        EventCursor position = null;
+        while (true) {
+            final List<LocatedEvent> batch = eventRepository.findUpcomingInCells(cells, today, position, nearbyBatchSize);
+            for (LocatedEvent located : batch) {
+                final double distanceKm = GeoHash.distanceKm(latitude, longitude, located.latitude(), located.longitude());
+                if (distanceKm <= radiusKm) {
+                    found.add(new NearbyEventDTO(located.card(), distanceKm));
+                    if (found.size() == wanted) {
+                        return found;
+                    }
+                }
+            }
+            if (batch.size() < nearbyBatchSize) {
+                return found;
+            }
+            position = EventCursor.of(batch.getLast().card());
+        }
+    }
 }
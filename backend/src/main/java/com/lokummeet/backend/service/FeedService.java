@@ -0,0 +1,50 @@
+package com.lokummeet.backend.service;
+
+import com.lokummeet.backend.ApiException;
+import com.lokummeet.backend.dto.CursorPageDTO;
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.feed.FeedCandidate;
+import com.lokummeet.backend.feed.FeedKey;
+import com.lokummeet.backend.feed.FeedRanker;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Personalized feed: a page of the ranking shared by everyone with the same {@link FeedKey}.
+ * A request costs the cached profile and ranking lookups, no SQL.
+ */
+@Service
+public class FeedService {
+    private final UserService userService;
+    private final FeedRanker feedRanker;
+
+    public FeedService(UserService userService, FeedRanker feedRanker) {
+        this.userService = userService;
+        this.feedRanker = feedRanker;
+    }
+
+    /** The cursor is an offset into the cached ranking; a refreshed ranking can shift later pages. */
+    public CursorPageDTO<EventCardDTO> getFeed(String email, String cursor, int limit) {
+        final int pageSize = Math.clamp(limit, 1, EventService.MAX_PAGE_SIZE);
+        final int offset = parseOffset(cursor);
+        final List<FeedCandidate> ranked = feedRanker.rank(FeedKey.of(userService.loadFeedProfile(email), LocalDate.now()));
+
+        final int end = Math.min(offset + pageSize, ranked.size());
+        final List<EventCardDTO> items = offset >= end ? List.of()
+                : ranked.subList(offset, end).stream().map(FeedCandidate::card).toList();
+        return new CursorPageDTO<>(items, end < ranked.size() ? Integer.toString(end) : null);
+    }
+
+    private static int parseOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(Integer.parseInt(cursor), 0);
+        } catch (NumberFormatException e) {
+            throw ApiException.builder().status(400).message("Invalid cursor").build();
+        }
+    }
+}
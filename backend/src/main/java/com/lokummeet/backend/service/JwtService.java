@@ -1,11 +1,26 @@
 package com.lokummeet.backend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.lokummeet.backend.entity.User;
+import com.lokummeet.backend.entity.UserRoles;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -17,11 +32,41 @@ import javax.crypto.SecretKey;
 
 @Component
 public class JwtService {
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    static final long VERIFIED_TOKEN_CACHE_SIZE = 100_000;
 
-    public String generateToken(String email) {
+    private final SecretKey signKey;
+    private final JwtParser parser;
+    /** SHA-256 of already verified tokens to their claims; each entry lives until the token's exp. */
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(@Value("${security.jwt.secret-key}") String secretKey) {
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(Expiry.<String, Claims>creating((hash, claims) ->
+                        Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+    }
+
+    /** Publishes hit and miss counts of the verified-token cache. */
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verifiedTokens");
+    }
+
+    public String generateToken(User user) {
+        return generateToken(user.getEmail(), user.getId(), user.getUserRoles(), user.getTokenVersion());
+    }
+
+    public String generateToken(String email, Long userId, Collection<UserRoles> roles, int tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(ROLES_CLAIM, roles.stream().map(UserRoles::name).toList());
+        claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
         return createToken(claims, email);
     }
 
@@ -31,13 +76,34 @@ public class JwtService {
                 .subject(email)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 30))
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verifies signature and expiry once and returns the claims. Repeat tokens are served from
+     * the verified-token cache, so only the first request pays for parsing and the HMAC check.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verify(String token) {
+        final String hash = sha256(token);
+        final Claims cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return cached;
+        }
+        final Claims claims = parser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(hash, claims);
+        return claims;
+    }
+
+    /** Roles the token was issued with; empty for tokens minted before roles were embedded. */
+    public static List<UserRoles> extractRoles(Claims claims) {
+        final List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream().map(role -> UserRoles.valueOf(role.toString())).toList();
     }
 
     public String extractUsername(String token) {
@@ -49,24 +115,20 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsResolver.apply(verify(token));
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        final Claims claims = verify(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private static String sha256(String token) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
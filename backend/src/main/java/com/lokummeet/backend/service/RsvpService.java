@@ -0,0 +1,101 @@
+package com.lokummeet.backend.service;
+
+import com.lokummeet.backend.ApiException;
+import com.lokummeet.backend.dto.AttendeeCountDTO;
+import com.lokummeet.backend.dto.AttendeeCursor;
+import com.lokummeet.backend.dto.AttendeeDTO;
+import com.lokummeet.backend.dto.CursorPageDTO;
+import com.lokummeet.backend.entity.AttendeeStatus;
+import com.lokummeet.backend.repository.EventAttendeeRepository;
+import com.lokummeet.backend.repository.EventRepository;
+import com.lokummeet.backend.rsvp.JoinEngine;
+import com.lokummeet.backend.rsvp.JoinResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Joining and leaving events as the signed-in user, and who is on an event. Seats and the waitlist
+ * live in {@link JoinEngine}; listings only read.
+ */
+@Service
+public class RsvpService {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final JoinEngine joinEngine;
+    private final UserService userService;
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository eventAttendeeRepository;
+    private final Duration joinTimeout;
+
+    public RsvpService(JoinEngine joinEngine,
+                       UserService userService,
+                       EventService eventService,
+                       EventRepository eventRepository,
+                       EventAttendeeRepository eventAttendeeRepository,
+                       @Value("${events.rsvp.join-timeout:5s}") Duration joinTimeout) {
+        this.joinEngine = joinEngine;
+        this.userService = userService;
+        this.eventService = eventService;
+        this.eventRepository = eventRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.joinTimeout = joinTimeout;
+    }
+
+    /** Joining a full event queues the user; asking again while queued changes nothing. */
+    public JoinResult join(Long eventId, String email) {
+        final Long userId = userService.loadProfile(email).getId();
+        final JoinResult result;
+        try {
+            result = joinEngine.join(eventId, userId).get(joinTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the join stays queued and may still go through; a retry just reports where it ended up
+            throw ApiException.builder().status(503).message("Join is taking too long, try again").build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ApiException.builder().status(503).message("Join interrupted").build();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not join event " + eventId, e.getCause());
+        }
+        if (result == null) {
+            throw ApiException.builder().status(404).message("Event not found").build();
+        }
+        return result;
+    }
+
+    public void leave(Long eventId, String email) {
+        if (!joinEngine.leave(eventId, userService.loadProfile(email).getId())) {
+            throw ApiException.builder().status(404).message("Not attending this event").build();
+        }
+    }
+
+    /** Attendees with the given status in joining order, for the event's creator and admins. */
+    public CursorPageDTO<AttendeeDTO> listAttendees(Long eventId, String email, AttendeeStatus status,
+                                                    String cursor, int limit) {
+        eventService.checkOrganizer(eventId, userService.loadProfile(email));
+        final int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        final Limit fetch = Limit.of(pageSize + 1);
+
+        final List<AttendeeDTO> attendees;
+        if (cursor == null || cursor.isBlank()) {
+            attendees = eventAttendeeRepository.findAttendees(eventId, status, fetch);
+        } else {
+            final AttendeeCursor after = AttendeeCursor.decode(cursor);
+            attendees = eventAttendeeRepository.findAttendeesAfter(eventId, status, after.getJoinedAt(), after.getUserId(), fetch);
+        }
+
+        return CursorPageDTO.of(attendees, pageSize, attendee -> AttendeeCursor.of(attendee).encode());
+    }
+
+    public AttendeeCountDTO countAttendees(Long eventId) {
+        return eventRepository.findAttendeeCount(eventId)
+                .orElseThrow(() -> ApiException.builder().status(404).message("Event not found").build());
+    }
+}
@@ -1,36 +1,60 @@
 package com.lokummeet.backend.service;
 
+import com.lokummeet.backend.ApiException;
+import com.lokummeet.backend.cache.UserChangedEvent;
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.dto.UserPrincipalView;
+import com.lokummeet.backend.dto.UserProfileDTO;
+import com.lokummeet.backend.dto.UserProfileView;
 import com.lokummeet.backend.entity.ConnectedAccount;
 import com.lokummeet.backend.entity.User;
+import com.lokummeet.backend.entity.UserRoles;
+import com.lokummeet.backend.feed.FeedProfile;
 import com.lokummeet.backend.repository.ConnectedAccountRepository;
 import com.lokummeet.backend.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class UserService implements UserDetailsService {
+    static final int MIN_PASSWORD_LENGTH = 8;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ConnectedAccountRepository connectedAccountRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, final ConnectedAccountRepository connectedAccountRepository) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, final ConnectedAccountRepository connectedAccountRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.connectedAccountRepository = connectedAccountRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public org.springframework.security.core.userdetails.UserDetails loadUserByUsername(String email)
+    public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
         User userInfo = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
@@ -39,12 +63,137 @@ public class UserService implements UserDetailsService {
                 .withUsername(userInfo.getEmail())
                 .password(userInfo.getPasswordHash())
                 .authorities(userInfo.getUserRoles())
+                .accountLocked(userInfo.isBanned())
+                .build();
+    }
+
+    /**
+     * Principal for requests that already proved who they are with a bearer token. Served from
+     * {@code USER_PRINCIPAL}, which is evicted whenever roles, the ban flag or the password change.
+     * It carries no password, so it must not be used for password authentication.
+     */
+    @Cacheable(cacheNames = CacheName.Fields.USER_PRINCIPAL, key = "#email")
+    public UserDetails loadPrincipal(String email) throws UsernameNotFoundException {
+        final UserDetails principal = findPrincipal(email);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+        return principal;
+    }
+
+    /** Uncached read behind {@link #loadPrincipal}; also used by the cache to refresh entries. */
+    public UserDetails findPrincipal(String email) {
+        final List<UserPrincipalView> rows = userRepository.findPrincipalByEmail(email);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        final UserPrincipalView user = rows.getFirst();
+        return org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password("")
+                .authorities(rows.stream().map(UserPrincipalView::getRole).filter(Objects::nonNull).toList())
+                .accountLocked(Boolean.TRUE.equals(user.getBanned()))
                 .build();
     }
 
+    @Cacheable(cacheNames = CacheName.Fields.FEED_PROFILE, key = "#email")
+    public FeedProfile loadFeedProfile(String email) {
+        final LocalDate birthDate = userRepository.findBirthDateByEmail(email)
+                .orElseThrow(() -> ApiException.builder().status(401).message("Authenticated user not found in database").build());
+        return new FeedProfile(userRepository.findFavoriteCategoriesByEmail(email), birthDate);
+    }
+
+    public Optional<Integer> findPreferredDistance(String email) {
+        return userRepository.findPreferredDistanceByEmail(email);
+    }
+
+    /** Profile for {@code /me}, read with one query and cached until the user row changes. */
+    @Cacheable(cacheNames = CacheName.Fields.USER_PROFILE, key = "#email")
+    public UserProfileDTO loadProfile(String email) {
+        final List<UserProfileView> rows = userRepository.findProfileByEmail(email);
+        if (rows.isEmpty()) {
+            throw ApiException.builder().status(401).message("Authenticated user not found in database").build();
+        }
+        final UserProfileView user = rows.getFirst();
+        final UserProfileDTO profile = new UserProfileDTO();
+        profile.setId(user.getId());
+        profile.setUsername(user.getUsername());
+        profile.setEmail(user.getEmail());
+        profile.setAvatarUrl(user.getAvatarUrl());
+        profile.setBio(user.getBio());
+        profile.setVerified(Boolean.TRUE.equals(user.getVerified()));
+        profile.setBanned(Boolean.TRUE.equals(user.getBanned()));
+        profile.setUpdatedAt(user.getUpdatedAt());
+        profile.setUserRoles(rows.stream().map(UserProfileView::getRole).filter(Objects::nonNull)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(UserRoles.class))));
+        return profile;
+    }
+
+    /** Current token version of a user, or {@code null} if the user no longer exists. */
+    @Cacheable(cacheNames = CacheName.Fields.TOKEN_VERSION, key = "#userId")
+    public Integer currentTokenVersion(Long userId) {
+        return findTokenVersion(userId);
+    }
+
+    /** Uncached read behind {@link #currentTokenVersion}; also used by the cache to refresh entries. */
+    public Integer findTokenVersion(Long userId) {
+        return userRepository.findTokenVersionById(userId).orElse(null);
+    }
+
+    @Transactional
+    public void revokeTokens(Long userId) {
+        final User user = getUser(userId);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        publishChanged(user);
+    }
+
+    @Transactional
+    public void setBanned(Long userId, boolean banned) {
+        final User user = getUser(userId);
+        user.setBanned(banned);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        publishChanged(user);
+    }
+
+    @Transactional
+    public void setRoles(Long userId, Set<UserRoles> roles) {
+        final User user = getUser(userId);
+        user.getUserRoles().clear();
+        user.getUserRoles().addAll(roles);
+        // issued tokens carry the old roles
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        publishChanged(user);
+    }
+
+    /** Replaces the password once {@code currentPassword} checks out; every token issued so far stops working. */
+    @Transactional
+    public void changePassword(Long userId, String currentPassword, String newPassword) {
+        final User user = getUser(userId);
+        if (currentPassword == null || !passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+            throw ApiException.builder().status(400).message("Invalid password change")
+                    .errors(Map.of("currentPassword", "does not match")).build();
+        }
+        if (newPassword == null || newPassword.length() < MIN_PASSWORD_LENGTH) {
+            throw ApiException.builder().status(400).message("Invalid password change")
+                    .errors(Map.of("newPassword", "must have at least " + MIN_PASSWORD_LENGTH + " characters")).build();
+        }
+        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        publishChanged(user);
+    }
+
+    private User getUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> ApiException.builder().status(404).message("User not found").build());
+    }
+
+    private void publishChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+
     public ResponseEntity<Object> addUser(User user) {
         user.setPasswordHash(passwordEncoder.encode(user.getPasswordHash()));
-        userRepository.save(user);
+        publishChanged(userRepository.save(user));
         return ResponseEntity.ok().build();
     }
 
@@ -52,11 +201,17 @@ public class UserService implements UserDetailsService {
         final ConnectedAccount newConnectedAccount = new ConnectedAccount(provider, subject, user);
         user.addConnectedAccount(newConnectedAccount);
         connectedAccountRepository.save(newConnectedAccount);
-        return userRepository.saveAndFlush(user);
+        final User saved = userRepository.saveAndFlush(user);
+        publishChanged(saved);
+        return saved;
     }
 
     public User getOrCreate(DefaultOidcUser oidcUser) {
         return userRepository.findByEmail(oidcUser.getEmail())
-                .orElseGet(() -> userRepository.saveAndFlush(User.fromOidc(oidcUser)));
+                .orElseGet(() -> {
+                    final User created = userRepository.saveAndFlush(User.fromOidc(oidcUser));
+                    publishChanged(created);
+                    return created;
+                });
     }
 }
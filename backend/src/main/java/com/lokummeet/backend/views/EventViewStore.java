@@ -0,0 +1,40 @@
+package com.lokummeet.backend.views;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+
+/** Total views per event in {@code event_views}, kept apart from the event row so counting never waits on RSVP locks. */
+@Component
+public class EventViewStore {
+    private static final String ADD_VIEWS = """
+            insert into event_views (event_id, views)
+            select * from unnest(?::bigint[], ?::bigint[])
+            on conflict (event_id) do update set views = event_views.views + excluded.views
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventViewStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Adds {@code views} per event id with one statement, whatever the number of events. */
+    public void addViews(Map<Long, Long> views) {
+        final Long[] ids = new Long[views.size()];
+        final Long[] counts = new Long[views.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : views.entrySet()) {
+            ids[i] = entry.getKey();
+            counts[i++] = entry.getValue();
+        }
+        jdbcTemplate.update(con -> {
+            final PreparedStatement ps = con.prepareStatement(ADD_VIEWS);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("bigint", counts));
+            return ps;
+        });
+    }
+}
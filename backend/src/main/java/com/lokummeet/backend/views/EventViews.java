@@ -0,0 +1,125 @@
+package com.lokummeet.backend.views;
+
+import com.lokummeet.backend.dto.EventCardDTO;
+import com.lokummeet.backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Detail-page views per event and the trending lists built from them.
+ *
+ * <p>A view only bumps a {@link LongAdder}, so {@link #record} costs a map lookup and a striped
+ * increment with no lock and no I/O, even when everyone is on the same event. Every
+ * {@code events.views.flush-interval} the counts are drained, added to the totals in the database
+ * with one statement, and fed to {@link TrendingScores}. The trending lists are then rebuilt with
+ * one card query and swapped in whole, so {@link #trending} only reads memory.
+ *
+ * <p>Scores are per replica. Behind a load balancer each replica sees a fair sample of the traffic,
+ * which is enough to rank events; the totals in the database add up every replica.
+ */
+@Slf4j
+@Component
+public class EventViews {
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    /** Counts a failed flush could not write, retried with the next one; touched by the flush only. */
+    private final Map<Long, Long> unsaved = new HashMap<>();
+    private final EventViewStore eventViewStore;
+    private final EventRepository eventRepository;
+    private final TrendingScores scores;
+    private final int trendingSize;
+    private volatile Map<TrendingWindow, List<EventCardDTO>> trending = Map.of();
+
+    public EventViews(EventViewStore eventViewStore,
+                      EventRepository eventRepository,
+                      @Value("${events.views.trending-size:20}") int trendingSize,
+                      @Value("${events.views.min-score:0.05}") double minScore) {
+        this.eventViewStore = eventViewStore;
+        this.eventRepository = eventRepository;
+        this.trendingSize = trendingSize;
+        this.scores = new TrendingScores(minScore, Instant.now());
+    }
+
+    public void record(long eventId) {
+        pending.computeIfAbsent(eventId, id -> new LongAdder()).increment();
+    }
+
+    /** Upcoming events with the most recent views, most viewed first; at most {@code events.views.trending-size}. */
+    public List<EventCardDTO> trending(TrendingWindow window, int limit) {
+        final List<EventCardDTO> events = trending.getOrDefault(window, List.of());
+        return events.subList(0, Math.clamp(limit, 0, events.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${events.views.flush-interval:10s}")
+    public void flush() {
+        final Map<Long, Long> views = drain();
+        scores.add(views, Instant.now());
+
+        views.forEach((id, count) -> unsaved.merge(id, count, Long::sum));
+        if (!unsaved.isEmpty()) {
+            try {
+                eventViewStore.addViews(unsaved);
+                unsaved.clear();
+            } catch (RuntimeException e) {
+                log.warn("Failed to write views of {} events, retrying with the next flush", unsaved.size(), e);
+            }
+        }
+        refreshTrending();
+    }
+
+    private Map<Long, Long> drain() {
+        final Map<Long, Long> views = new HashMap<>();
+        pending.forEach((id, adder) -> {
+            // subtracting what was read keeps increments that land in between
+            final long count = adder.sum();
+            if (count > 0) {
+                adder.add(-count);
+                views.put(id, count);
+            } else {
+                // idle since the last flush; a view racing this removal is lost, which a counter can afford
+                pending.remove(id, adder);
+            }
+        });
+        return views;
+    }
+
+    private void refreshTrending() {
+        final Instant now = Instant.now();
+        // past events still have views but are not shown, so rank more than will be kept
+        final Map<TrendingWindow, List<Long>> ranked = new EnumMap<>(TrendingWindow.class);
+        final Set<Long> ids = new LinkedHashSet<>();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            final List<Long> top = scores.top(window, trendingSize * 2, now);
+            ranked.put(window, top);
+            ids.addAll(top);
+        }
+        if (ids.isEmpty()) {
+            trending = Map.of();
+            return;
+        }
+        final Map<Long, EventCardDTO> cards = eventRepository.findUpcomingCardsByIdIn(LocalDate.now(), ids).stream()
+                .collect(Collectors.toMap(EventCardDTO::getId, Function.identity()));
+        final Map<TrendingWindow, List<EventCardDTO>> lists = new EnumMap<>(TrendingWindow.class);
+        ranked.forEach((window, top) -> lists.put(window, top.stream()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .limit(trendingSize)
+                .toList()));
+        trending = lists;
+    }
+}
@@ -0,0 +1,83 @@
+package com.lokummeet.backend.views;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exponentially decayed view counts per event, one per {@link TrendingWindow}: each batch of views
+ * is added at full weight after everything already counted has been scaled down by the time since
+ * the last batch. That is the same as weighting every view by {@code exp(-age / window)}, without
+ * keeping the views themselves. Events whose scores have all decayed below {@code minScore} are
+ * forgotten, so memory follows the events viewed recently, not all events ever viewed.
+ *
+ * <p>All methods synchronize on the scores; they run once per flush and per trending refresh.
+ */
+public class TrendingScores {
+    private static final TrendingWindow[] WINDOWS = TrendingWindow.values();
+
+    private final Map<Long, double[]> scores = new HashMap<>();
+    private final double minScore;
+    private Instant decayedAt;
+
+    public TrendingScores(double minScore, Instant now) {
+        this.minScore = minScore;
+        this.decayedAt = now;
+    }
+
+    /** Adds {@code views} per event id, as seen up to {@code now}. */
+    public synchronized void add(Map<Long, Long> views, Instant now) {
+        decay(now);
+        views.forEach((id, count) -> {
+            final double[] score = scores.computeIfAbsent(id, key -> new double[WINDOWS.length]);
+            for (int i = 0; i < WINDOWS.length; i++) {
+                score[i] += count;
+            }
+        });
+    }
+
+    /** Up to {@code limit} event ids, highest score in {@code window} first. */
+    public synchronized List<Long> top(TrendingWindow window, int limit, Instant now) {
+        decay(now);
+        final int w = window.ordinal();
+        return scores.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, double[]>>comparingDouble(entry -> -entry.getValue()[w])
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public synchronized double score(long eventId, TrendingWindow window, Instant now) {
+        decay(now);
+        final double[] score = scores.get(eventId);
+        return score == null ? 0 : score[window.ordinal()];
+    }
+
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    private void decay(Instant now) {
+        final Duration elapsed = Duration.between(decayedAt, now);
+        if (elapsed.isNegative() || elapsed.isZero()) {
+            return;
+        }
+        final double[] factors = new double[WINDOWS.length];
+        for (int i = 0; i < WINDOWS.length; i++) {
+            factors[i] = Math.exp(-(double) elapsed.toNanos() / WINDOWS[i].getWindow().toNanos());
+        }
+        scores.values().removeIf(score -> {
+            boolean live = false;
+            for (int i = 0; i < score.length; i++) {
+                score[i] *= factors[i];
+                live |= score[i] >= minScore;
+            }
+            return !live;
+        });
+        decayedAt = now;
+    }
+}
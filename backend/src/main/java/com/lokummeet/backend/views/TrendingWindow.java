@@ -0,0 +1,19 @@
+package com.lokummeet.backend.views;
+
+import java.time.Duration;
+
+/** How far back a trending score looks: a view {@code window} old counts 1/e as much as one just now. */
+public enum TrendingWindow {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration window;
+
+    TrendingWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+}
@@ -161,6 +161,16 @@ VALUES
  100, 0, 'SOCIAL', 'https://images.unsplash.com/photo-1555939594-58d7cb561ad1?w=800',
  4, 3, 13, 99, NOW(), NOW());
 
+-- Event coordinates; geo_cell is derived from them on startup
+UPDATE events SET latitude = 50.0619, longitude = 19.9369 WHERE title = 'Wieczór z Klasycznym Kinem';
+UPDATE events SET latitude = 50.0619, longitude = 19.9369 WHERE title = 'Kino na Dachu - Lato 2026';
+UPDATE events SET latitude = 50.0580, longitude = 19.9125 WHERE title = 'Poranny Jogging w Parku';
+UPDATE events SET latitude = 50.0372, longitude = 19.9761 WHERE title = 'Turniej Siatkówki Plażowej';
+UPDATE events SET latitude = 50.0647, longitude = 19.9450 WHERE title = 'Warsztaty Fotograficzne';
+UPDATE events SET latitude = 50.0545, longitude = 19.9352 WHERE title = 'Klub Książki - Spotkanie #12';
+UPDATE events SET latitude = 50.0684, longitude = 19.9125 WHERE title = 'Koło Programistyczne - Python';
+UPDATE events SET latitude = 50.0830, longitude = 19.8800 WHERE title = 'Piknik Integracyjny';
+
 -- ==========================================
 -- EVENT ATTENDEES
 -- ==========================================
@@ -0,0 +1,92 @@
+package com.lokummeet.backend.benchmark;
+
+import com.lokummeet.backend.search.PostgresEventSearch;
+import com.lokummeet.backend.search.SearchHit;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one uncached search page over 1M events in an embedded Postgres. Titles mix a common
+ * vocabulary (each word in 5-25% of events) with a long tail, so the queries cover very common terms,
+ * common terms that never co-occur, rare terms and no match at all. Read the p0.95 lines of the
+ * sample-time histograms.
+ *
+ * <p>{@code exact} stands in for an installed Polish dictionary: a {@code polish} configuration
+ * copied from {@code simple}, so every term is a single lexeme lookup like a stemmed one would be.
+ * {@code prefix} is the fallback without a dictionary, matching analyzer stems as prefixes.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.lokummeet.backend.benchmark.EventSearchBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class EventSearchBenchmark {
+    private static final int EVENTS = 1_000_000;
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    @Param({"exact", "prefix"})
+    private String mode;
+
+    @Param({"kino", "koncert", "kino film", "wieczór muzyka", "slowo123", "slowo4242 koncert",
+            "teatr kraków", "nieistniejące"})
+    private String query;
+
+    private EmbeddedPostgres postgres;
+    private PostgresEventSearch search;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        final DataSource dataSource = postgres.getPostgresDatabase();
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table events (
+                    id bigserial primary key, title varchar(255), description varchar(2000),
+                    location varchar(500), date_event date, start_time timestamp)""");
+        jdbcTemplate.execute("""
+                with common as (select array['kino', 'film', 'spotkanie', 'koncert', 'bieganie', 'szachy',
+                        'warsztaty', 'klub', 'muzyka', 'teatr', 'gry', 'planszówki', 'joga', 'rower',
+                        'wycieczka', 'kawa', 'dyskusja', 'wieczór', 'sport', 'nauka'] as w)
+                insert into events (title, description, location, date_event, start_time)
+                select common.w[1 + (g * 7) %% 20] || ' slowo' || (g * 13) %% 5000 || ' ' || common.w[1 + (g * 3) %% 20],
+                       repeat(common.w[1 + (g * 11) %% 20] || ' slowo' || (g * 31) %% 5000 || ' ', 10),
+                       'ul. Miejska ' || g %% 100 || ', ' || (array['Kraków', 'Warszawa', 'Gdańsk', 'Poznań'])[1 + g %% 4],
+                       date '2026-01-01' + g %% 730,
+                       timestamp '2026-01-01 18:00' + (g %% 730) * interval '1 day'
+                from generate_series(1, %d) g, common""".formatted(EVENTS));
+        if ("exact".equals(mode)) {
+            jdbcTemplate.execute("create text search configuration polish (copy = simple)");
+        }
+        search = new PostgresEventSearch(jdbcTemplate, "polish", 1000);
+        search.initSchema();
+        jdbcTemplate.execute("analyze events");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<SearchHit> searchFirstPage() {
+        return search.search(query, TODAY, null, 21);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.lokummeet.backend.benchmark;
+
+import com.lokummeet.backend.views.EventViews;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What counting a view adds to the event detail endpoint, with 16 threads viewing either one hot
+ * event or 10,000 events at random. The store and repository are never reached: flushes are not
+ * scheduled here.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.lokummeet.backend.benchmark.EventViewsBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class EventViewsBenchmark {
+
+    @Param({"1", "10000"})
+    private int events;
+
+    private EventViews eventViews;
+
+    @Setup
+    public void setUp() {
+        eventViews = new EventViews(null, null, 20, 0.05);
+    }
+
+    @Benchmark
+    public void record() {
+        eventViews.record(events == 1 ? 1 : ThreadLocalRandom.current().nextInt(events));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventViewsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
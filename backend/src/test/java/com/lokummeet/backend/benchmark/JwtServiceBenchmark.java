@@ -0,0 +1,83 @@
+package com.lokummeet.backend.benchmark;
+
+import com.lokummeet.backend.entity.UserRoles;
+import com.lokummeet.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one bearer request. {@code legacy} reproduces the old filter path: three
+ * full parses, each rebuilding the parser and decoding the key. {@code verifyFirstSeen} is a
+ * token not yet in the cache, {@code verifyRepeat} a token the cache has already verified.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.lokummeet.backend.benchmark.JwtServiceBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "c2VjdXJlLXNlY3JldC1rZXktZm9yLWxva3VtLW1lZXQtYXBwbGljYXRpb24tand0LXRva2VuLXNpZ25pbmc=";
+
+    private JwtService jwtService;
+    private String token;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET);
+        token = token("anna.kowalska@example.com");
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        final String username = legacyClaims(token).getSubject();
+        final String validated = legacyClaims(token).getSubject();
+        final Date expiration = legacyClaims(token).getExpiration();
+        return username.equals(validated) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Claims verifyRepeat() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyFirstSeen() {
+        return jwtService.verify(token("user" + (counter++) + "@example.com"));
+    }
+
+    @Benchmark
+    public String issueOnly() {
+        // baseline for verifyFirstSeen, which has to mint a fresh token every call
+        return token("user" + (counter++) + "@example.com");
+    }
+
+    private String token(String email) {
+        return jwtService.generateToken(email, 2L, List.of(UserRoles.ROLE_USER), 0);
+    }
+
+    private static Claims legacyClaims(String token) {
+        final SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
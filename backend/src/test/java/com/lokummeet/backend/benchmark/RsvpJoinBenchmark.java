@@ -0,0 +1,112 @@
+package com.lokummeet.backend.benchmark;
+
+import com.lokummeet.backend.rsvp.AttendeeStore;
+import com.lokummeet.backend.rsvp.JoinEngine;
+import com.lokummeet.backend.rsvp.JoinResult;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Joins per second when 64 users hit the same event at once, against an embedded Postgres behind a
+ * 16-connection pool. {@code engine} is {@link JoinEngine}; {@code perRequest} is the plain approach
+ * it replaces, one transaction per join with a conditional {@code UPDATE} on the event row and an
+ * attendee insert, joined or waitlisted.
+ *
+ * <p>With {@code capacity = 0} (no limit) every join takes a seat. With {@code capacity = 1000} the
+ * event fills within the warmup and the rest of the rush goes to the waitlist.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.lokummeet.backend.benchmark.RsvpJoinBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Threads(64)
+@Fork(1)
+public class RsvpJoinBenchmark {
+
+    @Param({"engine", "perRequest"})
+    private String mode;
+
+    @Param({"0", "1000"})
+    private int capacity;
+
+    private EmbeddedPostgres postgres;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JoinEngine engine;
+    private long eventId;
+    private final AtomicLong users = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        final HikariConfig config = new HikariConfig();
+        config.setDataSource(postgres.getPostgresDatabase());
+        config.setMaximumPoolSize(16);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table events (
+                    id bigserial primary key, max_capacity integer, current_capacity integer default 0)""");
+        jdbcTemplate.execute("""
+                create table event_attendees (
+                    id bigserial primary key, event_id bigint not null references events,
+                    user_id bigint not null, joined_at timestamptz, status varchar(50),
+                    constraint uk_event_attendees_event_user unique (event_id, user_id))""");
+        jdbcTemplate.execute("create index idx_event_attendees_event_status_id on event_attendees (event_id, status, id)");
+        eventId = jdbcTemplate.queryForObject("insert into events (max_capacity) values (?) returning id",
+                Long.class, capacity == 0 ? null : capacity);
+        final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        engine = new JoinEngine(new AttendeeStore(jdbcTemplate, transactionManager), 2, 500, Duration.ofSeconds(30));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        engine.shutdown();
+        dataSource.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public JoinResult join() throws ExecutionException, InterruptedException {
+        final long userId = users.incrementAndGet();
+        return "engine".equals(mode) ? engine.join(eventId, userId).get() : joinPerRequest(userId);
+    }
+
+    private JoinResult joinPerRequest(long userId) {
+        return transactionTemplate.execute(status -> {
+            final boolean seat = jdbcTemplate.update("""
+                    update events set current_capacity = current_capacity + 1
+                    where id = ? and (max_capacity is null or current_capacity < max_capacity)
+                    """, eventId) > 0;
+            jdbcTemplate.update("""
+                    insert into event_attendees (event_id, user_id, joined_at, status)
+                    values (?, ?, now(), ?)
+                    """, eventId, userId, seat ? "JOINED" : "WAITLISTED");
+            return seat ? JoinResult.JOINED : JoinResult.WAITLISTED;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RsvpJoinBenchmark.class.getSimpleName()).build()).run();
+    }
+}
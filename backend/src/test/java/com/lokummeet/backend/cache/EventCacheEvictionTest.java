@@ -0,0 +1,118 @@
+package com.lokummeet.backend.cache;
+
+import com.lokummeet.backend.config.CachingConfig.CacheName;
+import com.lokummeet.backend.dto.EventDTO;
+import com.lokummeet.backend.dto.UserProfileDTO;
+import com.lokummeet.backend.entity.User;
+import com.lokummeet.backend.entity.UserRoles;
+import com.lokummeet.backend.repository.UserRepository;
+import com.lokummeet.backend.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Writes through the service must leave no stale detail or feed page behind. */
+@SpringBootTest
+class EventCacheEvictionTest {
+    private static final int FEED_LIMIT = 10;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User organizer;
+    private Long eventId;
+
+    @BeforeEach
+    void createOrganizer() {
+        final User user = new User();
+        user.setEmail("organizer-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("x");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setAge(36);
+        user.setUserRoles(Set.of(UserRoles.ROLE_USER));
+        organizer = userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (eventId != null && eventService.loadEventDTO(eventId) != null) {
+            eventService.deleteEvent(eventId, profile());
+        }
+        userRepository.deleteById(organizer.getId());
+    }
+
+    @Test
+    void updateEvictsCachedDetailAndFeed() {
+        eventId = eventService.createEvent(newEvent("Before"), profile()).getId();
+        assertEquals("Before", eventService.findEventDTO(eventId).orElseThrow().getTitle());
+        final LocalDate today = LocalDate.now();
+        eventService.getLatestEventCards(today, null, FEED_LIMIT);
+        assertNotNull(cached(CacheName.EVENT_DETAIL, eventId));
+        assertNotNull(cached(CacheName.EVENT_CARD_FEED, feedKey(today)));
+
+        final EventDTO change = new EventDTO();
+        change.setTitle("After");
+        eventService.updateEvent(eventId, change, profile());
+
+        assertNull(cached(CacheName.EVENT_DETAIL, eventId));
+        assertNull(cached(CacheName.EVENT_CARD_FEED, feedKey(today)));
+        assertEquals("After", eventService.findEventDTO(eventId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void deleteEvictsCachedDetail() {
+        eventId = eventService.createEvent(newEvent("Doomed"), profile()).getId();
+        assertTrue(eventService.findEventDTO(eventId).isPresent());
+
+        eventService.deleteEvent(eventId, profile());
+
+        assertNull(cached(CacheName.EVENT_DETAIL, eventId));
+        assertTrue(eventService.findEventDTO(eventId).isEmpty());
+    }
+
+    private static String feedKey(LocalDate today) {
+        return today + ":" + FEED_LIMIT + ":null";
+    }
+
+    private UserProfileDTO profile() {
+        final UserProfileDTO profile = new UserProfileDTO();
+        profile.setId(organizer.getId());
+        profile.setEmail(organizer.getEmail());
+        profile.setUserRoles(organizer.getUserRoles());
+        return profile;
+    }
+
+    private static EventDTO newEvent(String title) {
+        final EventDTO event = new EventDTO();
+        event.setTitle(title);
+        event.setLocation("Kraków");
+        event.setDateEvent(LocalDate.now().plusDays(1));
+        event.setStartTime(LocalDate.now().plusDays(1).atTime(18, 0));
+        event.setEndTime(LocalDate.now().plusDays(1).atTime(20, 0));
+        event.setMaxCapacity(10);
+        return event;
+    }
+
+    /** Peeks without loading: {@link Cache#get} on a refreshing cache would reload the entry. */
+    private Object cached(CacheName cacheName, Object key) {
+        final Cache cache = cacheManager.getCache(cacheName.name());
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, ?>) cache.getNativeCache()).getIfPresent(key);
+    }
+}
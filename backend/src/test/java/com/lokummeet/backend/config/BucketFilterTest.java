@@ -0,0 +1,164 @@
+package com.lokummeet.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BucketFilterTest {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void heapStaysFlatWithMillionsOfDistinctIps() throws Exception {
+        final int maxBuckets = 10_000;
+        final BucketFilter filter = new BucketFilter(new LocalBucketStore(), properties(maxBuckets, tier("default", 50, "/**")), new SimpleMeterRegistry());
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/events/latest");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // fill the store to its cap first, so the baseline already holds a full set of buckets
+        sendFromDistinctIps(filter, request, response, 0, maxBuckets * 2);
+        final long baseline = usedHeapAfterGc();
+
+        sendFromDistinctIps(filter, request, response, maxBuckets * 2, 3_000_000);
+        final long after = usedHeapAfterGc();
+
+        assertTrue(filter.activeBuckets() <= maxBuckets, "bucket store exceeded its cap: " + filter.activeBuckets());
+        // an unbounded map would hold ~3M buckets here, several hundred MB
+        assertTrue(after - baseline < 32 * 1024 * 1024,
+                "heap grew by " + (after - baseline) / 1024 / 1024 + " MB");
+    }
+
+    @Test
+    void rejectsOnceBucketIsEmpty() throws Exception {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final BucketFilter filter = new BucketFilter(new LocalBucketStore(), properties(100, tier("default", 50, "/**")), registry);
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, send(filter, "/api/public/events/latest", "10.0.0.1").getStatus());
+        }
+        final MockHttpServletResponse rejected = send(filter, "/api/public/events/latest", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader("X-RateLimit-Remaining"));
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(50, registry.get("ratelimit.requests").tags("tier", "default", "outcome", "allowed").counter().count());
+        assertEquals(1, registry.get("ratelimit.requests").tags("tier", "default", "outcome", "rejected").counter().count());
+        assertEquals(1, registry.get("ratelimit.buckets.active").gauge().value());
+    }
+
+    @Test
+    void tiersAndCostsApplyPerRoute() throws Exception {
+        final RateLimitProperties.Tier auth = tier("auth", 3, "/api/auth/generateToken");
+        final RateLimitProperties.Tier api = tier("default", 10, "/**");
+        api.setCosts(Map.of("/api/public/events/search", 5L));
+        final BucketFilter filter = new BucketFilter(new LocalBucketStore(), properties(100, auth, api), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send(filter, "/api/auth/generateToken", "10.0.0.1").getStatus());
+        }
+        assertEquals(429, send(filter, "/api/auth/generateToken", "10.0.0.1").getStatus());
+        // the auth tier is exhausted, the default tier is not
+        assertEquals(200, send(filter, "/api/public/events/search", "10.0.0.1").getStatus());
+        assertEquals(200, send(filter, "/api/public/events/search", "10.0.0.1").getStatus());
+        assertEquals(429, send(filter, "/api/public/events/latest", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void authenticatedCallersBehindOneIpGetSeparateBuckets() throws Exception {
+        final RateLimitProperties.Tier api = tier("default", 1, "/**");
+        api.setAuthenticatedCapacity(2L);
+        final BucketFilter filter = new BucketFilter(new LocalBucketStore(), properties(100, api), new SimpleMeterRegistry());
+
+        for (String user : List.of("anna@example.com", "jan@example.com")) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+            assertEquals(200, send(filter, "/api/events/feed", "10.0.0.1").getStatus());
+            final MockHttpServletResponse second = send(filter, "/api/events/feed", "10.0.0.1");
+            assertEquals(200, second.getStatus());
+            assertEquals("2", second.getHeader("X-RateLimit-Limit"));
+            assertEquals(429, send(filter, "/api/events/feed", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void reloadAppliesNewLimits() throws Exception {
+        final BucketFilter filter = new BucketFilter(new LocalBucketStore(), properties(100, tier("default", 1, "/**")), new SimpleMeterRegistry());
+        assertEquals(200, send(filter, "/", "10.0.0.1").getStatus());
+        assertEquals(429, send(filter, "/", "10.0.0.1").getStatus());
+
+        filter.reload(List.of(tier("default", 5, "/**")));
+        final MockHttpServletResponse response = send(filter, "/", "10.0.0.1");
+        assertEquals(200, response.getStatus());
+        assertEquals("5", response.getHeader("X-RateLimit-Limit"));
+    }
+
+    @Test
+    void reloadRejectsRefillsLongerThanTheIdleTimeout() {
+        final BucketFilter filter = new BucketFilter(new LocalBucketStore(), properties(100, tier("default", 1, "/**")), new SimpleMeterRegistry());
+        final RateLimitProperties.Tier slow = tier("default", 5, "/**");
+        slow.setRefillPeriod(Duration.ofHours(1));
+
+        assertThrows(IllegalArgumentException.class, () -> filter.reload(List.of(slow)));
+        assertEquals(1, filter.getTiers().getFirst().getCapacity());
+    }
+
+    private static MockHttpServletResponse send(BucketFilter filter, String path, String ip) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(ip);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    private static void sendFromDistinctIps(BucketFilter filter, MockHttpServletRequest request,
+                                            MockHttpServletResponse response, int from, int to) throws Exception {
+        for (int i = from; i < to; i++) {
+            request.setRemoteAddr("2001:db8::" + Integer.toHexString(i >>> 16) + ":" + Integer.toHexString(i & 0xffff));
+            request.clearAttributes();
+            filter.doFilter(request, response, NO_OP_CHAIN);
+        }
+    }
+
+    private static RateLimitProperties properties(long maxBuckets, RateLimitProperties.Tier... tiers) {
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(maxBuckets);
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setTiers(List.of(tiers));
+        return properties;
+    }
+
+    private static RateLimitProperties.Tier tier(String name, long capacity, String... patterns) {
+        final RateLimitProperties.Tier tier = new RateLimitProperties.Tier();
+        tier.setName(name);
+        tier.setCapacity(capacity);
+        tier.setPatterns(List.of(patterns));
+        tier.setRefillPeriod(Duration.ofMinutes(1));
+        return tier;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,77 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for a shared bucket store: one instance plays the database, several
+ * {@link SharedBucketStore}s on top of it play replicas. Counts round trips so tests can check batching.
+ */
+class InMemoryProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+    private final ConcurrentHashMap<String, byte[]> states = new ConcurrentHashMap<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger writes = new AtomicInteger();
+
+    InMemoryProxyManager() {
+        super(ClientSideConfig.getDefault());
+    }
+
+    int roundTrips() {
+        return reads.get() + writes.get();
+    }
+
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+        return new CompareAndSwapOperation() {
+            @Override
+            public Optional<byte[]> getStateData(Optional<Long> timeoutNanos) {
+                reads.incrementAndGet();
+                return Optional.ofNullable(states.get(key));
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState,
+                                          Optional<Long> timeoutNanos) {
+                writes.incrementAndGet();
+                if (originalData == null) {
+                    return states.putIfAbsent(key, newData) == null;
+                }
+                final boolean[] swapped = {false};
+                states.computeIfPresent(key, (k, current) -> {
+                    swapped[0] = Arrays.equals(current, originalData);
+                    return swapped[0] ? newData : current;
+                });
+                return swapped[0];
+            }
+        };
+    }
+
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        states.remove(key);
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String key) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,87 @@
+package com.lokummeet.backend.config;
+
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedBucketStoreTest {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+    private static final int MAX_UNSYNCED_TOKENS = 5;
+
+    @Test
+    void replicasShareOneLimit() throws Exception {
+        final InMemoryProxyManager database = new InMemoryProxyManager();
+        final List<BucketFilter> replicas = List.of(replica(database, 50), replica(database, 50));
+
+        int accepted = 0;
+        for (int i = 0; i < 200; i++) {
+            if (send(replicas.get(i % 2)).getStatus() == 200) {
+                accepted++;
+            }
+        }
+
+        // two local stores would accept 100; a shared one 50 plus at most one unsynced batch per replica
+        assertTrue(accepted >= 50 && accepted <= 50 + 2 * MAX_UNSYNCED_TOKENS, "accepted " + accepted);
+    }
+
+    @Test
+    void consumptionIsSyncedInBatches() throws Exception {
+        final InMemoryProxyManager database = new InMemoryProxyManager();
+        final BucketFilter filter = replica(database, 1_000);
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(200, send(filter).getStatus());
+        }
+
+        assertTrue(database.roundTrips() <= 2 * 500 / MAX_UNSYNCED_TOKENS, "round trips " + database.roundTrips());
+    }
+
+    @Test
+    void reloadReplacesStoredLimits() throws Exception {
+        final InMemoryProxyManager database = new InMemoryProxyManager();
+        final BucketFilter filter = replica(database, 1);
+        assertEquals(200, send(filter).getStatus());
+        assertEquals(429, send(filter).getStatus());
+
+        // configuration versions are timestamps; make sure the reload gets a newer one
+        Thread.sleep(5);
+        filter.reload(List.of(tier(100)));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, send(filter).getStatus());
+        }
+    }
+
+    private static BucketFilter replica(InMemoryProxyManager database, long capacity) {
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setTiers(List.of(tier(capacity)));
+        return new BucketFilter(new SharedBucketStore(database,
+                new DelayParameters(MAX_UNSYNCED_TOKENS, Duration.ofSeconds(10))), properties, new SimpleMeterRegistry());
+    }
+
+    private static RateLimitProperties.Tier tier(long capacity) {
+        final RateLimitProperties.Tier tier = new RateLimitProperties.Tier();
+        tier.setName("default");
+        tier.setPatterns(List.of("/**"));
+        tier.setCapacity(capacity);
+        tier.setRefillPeriod(Duration.ofMinutes(1));
+        return tier;
+    }
+
+    private static MockHttpServletResponse send(BucketFilter filter) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/events/latest");
+        request.setRemoteAddr("10.0.0.1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+}
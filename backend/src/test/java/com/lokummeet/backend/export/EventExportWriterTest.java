@@ -0,0 +1,55 @@
+package com.lokummeet.backend.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static com.lokummeet.backend.entity.EventCategory.FILM_CLUB;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventExportWriterTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        final String[] lines = export(ExportFormat.NDJSON, row(1L, "Kino"), row(2L, "Teatr")).split("\n", -1);
+
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals(1L, OBJECT_MAPPER.readTree(lines[0]).get("id").asLong());
+        assertEquals("2026-10-17T18:00:00", OBJECT_MAPPER.readTree(lines[1]).get("startTime").asText());
+    }
+
+    @Test
+    void csvQuotesOnlyFieldsThatNeedIt() throws IOException {
+        final String[] lines = export(ExportFormat.CSV, row(1L, "Kino, \"nocne\"")).split("\r\n", -1);
+
+        assertEquals(CsvExportWriter.HEADER, lines[0]);
+        assertEquals("1,\"Kino, \"\"nocne\"\"\",opis,Kraków,50.06,,2026-10-17,2026-10-17T18:00,"
+                + "2026-10-17T20:00,FILM_CLUB,30,,,7", lines[1]);
+    }
+
+    private static String export(ExportFormat format, EventExportRow... rows) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (EventExportWriter writer = format.open(out, OBJECT_MAPPER)) {
+            for (EventExportRow row : rows) {
+                writer.write(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static EventExportRow row(Long id, String title) {
+        final LocalDateTime start = LocalDateTime.of(2026, 10, 17, 18, 0);
+        return new EventExportRow(id, title, "opis", "Kraków", 50.06, null, start.toLocalDate(),
+                start, start.plusHours(2), FILM_CLUB, 30, null, null, 7L);
+    }
+}
@@ -0,0 +1,50 @@
+package com.lokummeet.backend.export;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdleTimeoutOutputStreamTest {
+    private static final Duration IDLE = Duration.ofMillis(200);
+
+    private final MockAsyncContext asyncContext =
+            new MockAsyncContext(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+    @Test
+    void startsWithOneIdlePeriod() {
+        new IdleTimeoutOutputStream(new ByteArrayOutputStream(), asyncContext, IDLE);
+
+        assertEquals(IDLE.toMillis(), asyncContext.getTimeout());
+    }
+
+    @Test
+    void writingMovesTheDeadlinePastTheTimeAlreadySpent() throws IOException, InterruptedException {
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        final IdleTimeoutOutputStream out = new IdleTimeoutOutputStream(sink, asyncContext, IDLE);
+
+        Thread.sleep(50);
+        out.write(new byte[]{1, 2, 3});
+
+        assertTrue(asyncContext.getTimeout() >= 50 + IDLE.toMillis(), "timeout " + asyncContext.getTimeout());
+        assertArrayEquals(new byte[]{1, 2, 3}, sink.toByteArray());
+    }
+
+    @Test
+    void writesCloseTogetherLeaveTheDeadlineAlone() throws IOException {
+        final IdleTimeoutOutputStream out = new IdleTimeoutOutputStream(new ByteArrayOutputStream(), asyncContext, Duration.ofHours(1));
+
+        out.write(1);
+        out.flush();
+
+        assertEquals(Duration.ofHours(1).toMillis(), asyncContext.getTimeout());
+    }
+}
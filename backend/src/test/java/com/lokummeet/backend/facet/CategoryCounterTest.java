@@ -0,0 +1,77 @@
+package com.lokummeet.backend.facet;
+
+import com.lokummeet.backend.entity.EventCategory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.lokummeet.backend.entity.EventCategory.FILM_CLUB;
+import static com.lokummeet.backend.entity.EventCategory.SPORTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CategoryCounterTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    @Test
+    void followsCreateEditAndDelete() {
+        final CategoryCounter counter = new CategoryCounter(TODAY);
+        counter.load(List.of(entry(1L, FILM_CLUB, 1), entry(2L, FILM_CLUB, 2), entry(3L, SPORTS, -1)), TODAY);
+        assertEquals(2, count(counter, FILM_CLUB, TODAY));
+        assertEquals(0, count(counter, SPORTS, TODAY));
+
+        counter.apply(4L, entry(4L, SPORTS, 3));
+        counter.apply(2L, entry(2L, SPORTS, 2));
+        counter.apply(1L, null);
+
+        assertEquals(0, count(counter, FILM_CLUB, TODAY));
+        assertEquals(2, count(counter, SPORTS, TODAY));
+    }
+
+    @Test
+    void eventsLeaveTheCountsOnceTheirDayArrives() {
+        final CategoryCounter counter = new CategoryCounter(TODAY);
+        counter.load(List.of(entry(1L, SPORTS, 1), entry(2L, SPORTS, 2), entry(3L, SPORTS, 5)), TODAY);
+
+        assertEquals(2, count(counter, SPORTS, TODAY.plusDays(1)));
+        assertEquals(1, count(counter, SPORTS, TODAY.plusDays(2)));
+
+        // an edit to an event that has already passed must not take it off the totals again
+        counter.apply(1L, entry(1L, SPORTS, 1));
+        assertEquals(1, count(counter, SPORTS, TODAY.plusDays(2)));
+    }
+
+    @Test
+    void reconciliationRepairsDrift() {
+        final CategoryCounter counter = new CategoryCounter(TODAY);
+        counter.load(List.of(entry(1L, SPORTS, 1)), TODAY);
+
+        final long version = counter.version();
+        final Long drift = counter.reconcile(List.of(
+                new FacetDayCount(SPORTS, TODAY.plusDays(1), 3),
+                new FacetDayCount(FILM_CLUB, TODAY.plusDays(4), 2)), TODAY, version);
+
+        assertEquals(4, drift);
+        assertEquals(3, count(counter, SPORTS, TODAY));
+        assertEquals(2, count(counter, FILM_CLUB, TODAY));
+    }
+
+    @Test
+    void reconciliationSkipsWhenEventsChangedMeanwhile() {
+        final CategoryCounter counter = new CategoryCounter(TODAY);
+        final long version = counter.version();
+        counter.apply(1L, entry(1L, SPORTS, 1));
+
+        assertNull(counter.reconcile(List.of(), TODAY, version));
+        assertEquals(1, count(counter, SPORTS, TODAY));
+    }
+
+    private static long count(CategoryCounter counter, EventCategory category, LocalDate today) {
+        return counter.counts(today).get(category);
+    }
+
+    private static FacetEntry entry(Long id, EventCategory category, int inDays) {
+        return new FacetEntry(id, category, TODAY.plusDays(inDays));
+    }
+}
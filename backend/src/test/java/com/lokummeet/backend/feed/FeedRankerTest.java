@@ -0,0 +1,84 @@
+package com.lokummeet.backend.feed;
+
+import com.lokummeet.backend.entity.EventCategory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.lokummeet.backend.entity.EventCategory.FILM_CLUB;
+import static com.lokummeet.backend.entity.EventCategory.SOCIAL;
+import static com.lokummeet.backend.entity.EventCategory.SPORTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FeedRankerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    private final List<FeedCandidate> events = List.of(
+            event(1L, SPORTS, 1, null, null),
+            event(2L, FILM_CLUB, 2, null, null),
+            event(3L, FILM_CLUB, 30, null, null),
+            event(4L, FILM_CLUB, 3, 18, null),
+            event(5L, SOCIAL, 1, null, 12),
+            event(6L, SPORTS, -1, null, null));
+
+    private final FeedRanker ranker = new FeedRanker(new FixedLists(events), 0.5, Duration.ofDays(7), 200);
+
+    @Test
+    void favoritesRankAheadOfOtherEventsOfTheSameWeek() {
+        final List<Long> feed = ids(ranker.rank(FeedKey.of(new FeedProfile(Set.of(FILM_CLUB), birthDate(20)), TODAY)));
+
+        // film club in 2 and 3 days beats sports tomorrow; film club in a month does not
+        assertEquals(List.of(2L, 4L, 1L, 3L), feed);
+    }
+
+    @Test
+    void dropsEventsOutsideTheAgeWindow() {
+        final List<Long> feed = ids(ranker.rank(FeedKey.of(new FeedProfile(Set.of(), birthDate(10)), TODAY)));
+
+        assertEquals(List.of(1L, 5L, 2L, 3L), feed);
+    }
+
+    @Test
+    void usersWithTheSameFavoritesAndAgeShareAKey() {
+        final FeedKey first = FeedKey.of(new FeedProfile(EnumSet.of(SPORTS, FILM_CLUB), birthDate(20)), TODAY);
+        final FeedKey second = FeedKey.of(new FeedProfile(Set.of(FILM_CLUB, SPORTS), birthDate(20).plusDays(3)), TODAY);
+
+        assertEquals(first, second);
+    }
+
+    private static LocalDate birthDate(int age) {
+        return TODAY.minusYears(age).minusDays(10);
+    }
+
+    private static FeedCandidate event(Long id, EventCategory category, int inDays, Integer minAge, Integer maxAge) {
+        final LocalDate date = TODAY.plusDays(inDays);
+        return new FeedCandidate(id, date, date.atTime(18, 0), "Event " + id, "", category, minAge, maxAge);
+    }
+
+    private static List<Long> ids(List<FeedCandidate> feed) {
+        return feed.stream().map(FeedCandidate::id).toList();
+    }
+
+    private static class FixedLists extends CategoryFeedLists {
+        private final List<FeedCandidate> events;
+
+        FixedLists(List<FeedCandidate> events) {
+            super(null, 500);
+            this.events = events;
+        }
+
+        @Override
+        public List<FeedCandidate> upcoming(EventCategory category) {
+            return events.stream().filter(event -> event.category() == category).toList();
+        }
+
+        @Override
+        public List<FeedCandidate> upcoming() {
+            return events;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.lokummeet.backend.filter;
+
+import com.lokummeet.backend.entity.User;
+import com.lokummeet.backend.entity.UserRoles;
+import com.lokummeet.backend.repository.UserRepository;
+import com.lokummeet.backend.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** A token issued before an account change must not work after it, whoever made the change. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationTest {
+    private static final String PASSWORD = "old-password";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtService jwtService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteUsers() {
+        userRepository.deleteAllById(created);
+    }
+
+    @Test
+    void passwordChangeRevokesEarlierTokens() throws Exception {
+        final User user = user(UserRoles.ROLE_USER);
+        final String token = jwtService.generateToken(user);
+        me(token, status().isOk());
+
+        mockMvc.perform(post("/api/auth/password")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"new-password\"}"))
+                .andExpect(status().isNoContent());
+
+        me(token, status().is3xxRedirection());
+        me(jwtService.generateToken(reload(user)), status().isOk());
+    }
+
+    @Test
+    void wrongCurrentPasswordChangesNothing() throws Exception {
+        final User user = user(UserRoles.ROLE_USER);
+        final String token = jwtService.generateToken(user);
+
+        mockMvc.perform(post("/api/auth/password")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"guess\",\"newPassword\":\"new-password\"}"))
+                .andExpect(status().isBadRequest());
+
+        me(token, status().isOk());
+    }
+
+    @Test
+    void signingOutEverywhereRevokesEarlierTokens() throws Exception {
+        final String token = jwtService.generateToken(user(UserRoles.ROLE_USER));
+
+        mockMvc.perform(post("/api/auth/revokeTokens").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        me(token, status().is3xxRedirection());
+    }
+
+    @Test
+    void banAndRoleChangesByAnAdminRevokeEarlierTokens() throws Exception {
+        final String admin = jwtService.generateToken(user(UserRoles.ROLE_ADMIN));
+        final User banned = user(UserRoles.ROLE_USER);
+        final String bannedToken = jwtService.generateToken(banned);
+        final User promoted = user(UserRoles.ROLE_USER);
+        final String promotedToken = jwtService.generateToken(promoted);
+
+        mockMvc.perform(put("/api/admin/users/{id}/banned", banned.getId()).param("banned", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/admin/users/{id}/roles", promoted.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"ROLE_USER\",\"ROLE_PARTNER\"]"))
+                .andExpect(status().isNoContent());
+
+        me(bannedToken, status().is3xxRedirection());
+        me(promotedToken, status().is3xxRedirection());
+        me(jwtService.generateToken(reload(promoted)), status().isOk());
+    }
+
+    @Test
+    void onlyAdminsModerateUsers() throws Exception {
+        final String token = jwtService.generateToken(user(UserRoles.ROLE_USER));
+        final User other = user(UserRoles.ROLE_USER);
+
+        mockMvc.perform(put("/api/admin/users/{id}/banned", other.getId()).param("banned", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().is4xxClientError());
+
+        me(jwtService.generateToken(other), status().isOk());
+    }
+
+    private void me(String token, ResultMatcher expected) throws Exception {
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(expected);
+    }
+
+    private User user(UserRoles role) {
+        final User user = new User();
+        user.setEmail("revocation-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setAge(36);
+        user.setUserRoles(new HashSet<>(Set.of(role)));
+        final User saved = userRepository.save(user);
+        created.add(saved.getId());
+        return saved;
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,67 @@
+package com.lokummeet.backend.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoHashTest {
+
+    @Test
+    void encodesLikeTextGeohash() {
+        // "u2yhv9mx" is the text geohash of Kraków's market square; each base32 character is five bits of the cell
+        final long cell = GeoHash.encode(50.0619, 19.9369);
+        assertEquals(base32("u2yhv9mx"), cell >>> (5 * (GeoHash.MAX_PRECISION - 8)));
+    }
+
+    @Test
+    void coveringContainsEveryPointInTheCircle() {
+        final Random random = new Random(42);
+        final double[][] centres = {{50.0619, 19.9369}, {0.1, 179.95}, {-33.86, 151.21}, {78.2, 15.6}};
+        for (double[] centre : centres) {
+            for (double radiusKm : new double[]{0.5, 10, 100}) {
+                final List<GeoHash.Range> covering = GeoHash.covering(centre[0], centre[1], radiusKm);
+                for (int i = 0; i < 2_000; i++) {
+                    final double lat = centre[0] + (random.nextDouble() * 2 - 1) * radiusKm / 111;
+                    final double lon = wrap(centre[1] + (random.nextDouble() * 2 - 1) * radiusKm / (111 * Math.cos(Math.toRadians(centre[0]))));
+                    if (GeoHash.distanceKm(centre[0], centre[1], lat, lon) <= radiusKm) {
+                        final long cell = GeoHash.encode(lat, lon);
+                        assertTrue(covering.stream().anyMatch(range -> cell >= range.from() && cell < range.to()),
+                                () -> "(" + lat + ", " + lon + ") outside the covering of " + radiusKm + " km");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void coveringStaysSmallAndTight() {
+        final List<GeoHash.Range> covering = GeoHash.covering(50.0619, 19.9369, 10);
+        assertTrue(covering.size() <= 64, "ranges " + covering.size());
+        final long cells = covering.stream().mapToLong(range -> range.to() - range.from()).sum();
+        // precision 5 cells hold 2^35 values; a 10 km circle needs dozens of them, not a precision 4 block
+        assertTrue(cells <= 64L << 35, "covered " + cells);
+    }
+
+    @Test
+    void distanceBetweenCities() {
+        // Kraków to Warsaw is about 252 km as the crow flies
+        assertEquals(252, GeoHash.distanceKm(50.0619, 19.9369, 52.2297, 21.0122), 2);
+    }
+
+    private static long base32(String geohash) {
+        final String alphabet = "0123456789bcdefghjkmnpqrstuvwxyz";
+        long value = 0;
+        for (char c : geohash.toCharArray()) {
+            value = value << 5 | alphabet.indexOf(c);
+        }
+        return value;
+    }
+
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lokummeet.backend.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyFilterTest {
+    private final AtomicInteger runs = new AtomicInteger();
+
+    /** Echoes the body with the run number, so a replay is told apart from a second run. */
+    private final FilterChain echo = (request, response) -> {
+        final String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        ((HttpServletResponse) response).setStatus(201);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"run\":" + runs.incrementAndGet() + ",\"body\":" + body + "}");
+    };
+
+    @Test
+    void retriesReplayTheFirstResponse() throws Exception {
+        final IdempotencyFilter filter = filter(Duration.ofSeconds(1));
+
+        final MockHttpServletResponse first = send(filter, "key-1", "{\"a\":1}", echo);
+        final MockHttpServletResponse retry = send(filter, "key-1", "{\"a\":1}", echo);
+
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("application/json", retry.getContentType());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(1, runs.get());
+        // without a key, or with another one, the request runs again
+        assertEquals(201, send(filter, null, "{\"a\":1}", echo).getStatus());
+        assertEquals(201, send(filter, "key-2", "{\"a\":1}", echo).getStatus());
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void reusingAKeyForAnotherRequestIsRejected() throws Exception {
+        final IdempotencyFilter filter = filter(Duration.ofSeconds(1));
+        send(filter, "key-1", "{\"a\":1}", echo);
+
+        assertEquals(422, send(filter, "key-1", "{\"a\":2}", echo).getStatus());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void serverErrorsAreNotStored() throws Exception {
+        final IdempotencyFilter filter = filter(Duration.ofSeconds(1));
+        final FilterChain failing = (request, response) -> {
+            runs.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        assertEquals(503, send(filter, "key-1", "{}", failing).getStatus());
+        assertEquals(201, send(filter, "key-1", "{}", echo).getStatus());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstRun() throws Exception {
+        final IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        final FilterChain slow = (request, response) -> {
+            running.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo.doFilter(request, response);
+        };
+
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        final List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        responses.add(pool.submit(() -> send(filter, "key-1", "{}", slow)));
+        running.await();
+        for (int i = 0; i < 7; i++) {
+            responses.add(pool.submit(() -> send(filter, "key-1", "{}", slow)));
+        }
+        // give the duplicates time to reach the store before the first request finishes
+        TimeUnit.MILLISECONDS.sleep(200);
+        finish.countDown();
+
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertEquals(201, response.get().getStatus());
+            assertEquals("{\"run\":1,\"body\":{}}", response.get().getContentAsString());
+        }
+        assertEquals(1, runs.get());
+        pool.shutdown();
+    }
+
+    @Test
+    void duplicatesGiveUpAfterTheWaitTimeout() throws Exception {
+        final IdempotencyFilter filter = filter(Duration.ofMillis(50));
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        final Future<MockHttpServletResponse> first = pool.submit(() -> send(filter, "key-1", "{}", (request, response) -> {
+            running.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo.doFilter(request, response);
+        }));
+        running.await();
+
+        final MockHttpServletResponse duplicate = send(filter, "key-1", "{}", echo);
+        assertEquals(409, duplicate.getStatus());
+        assertEquals("1", duplicate.getHeader("Retry-After"));
+        finish.countDown();
+        assertEquals(201, first.get().getStatus());
+        pool.shutdown();
+    }
+
+    private static IdempotencyFilter filter(Duration waitTimeout) {
+        final IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setWaitTimeout(waitTimeout);
+        return new IdempotencyFilter(new LocalIdempotencyStore(1000, Duration.ofMinutes(1)), properties);
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, String key, String body, FilterChain chain)
+            throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/addNewUser");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package com.lokummeet.backend.idempotency;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostgresIdempotencyStoreTest {
+    private static final StoredResponse CREATED = new StoredResponse(201, "application/json", "{}".getBytes());
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.execute("""
+                create table idempotency_keys (
+                    id varchar(600) primary key, fingerprint varchar(64) not null, status integer,
+                    content_type varchar(255), body bytea, lease_token uuid, locked_until timestamptz, expires_at timestamptz not null)""");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void replicasShareCompletedKeys() {
+        final String key = UUID.randomUUID().toString();
+        final IdempotencyStore first = store(Duration.ofMinutes(1));
+        final IdempotencyStore second = store(Duration.ofMinutes(1));
+
+        final IdempotencyStore.Claim claim = first.claim(key, "a", Duration.ZERO);
+        assertEquals(IdempotencyStore.Status.ACQUIRED, claim.status());
+        assertEquals(IdempotencyStore.Status.IN_PROGRESS, second.claim(key, "a", Duration.ZERO).status());
+        assertEquals(IdempotencyStore.Status.MISMATCH, second.claim(key, "b", Duration.ZERO).status());
+        assertTrue(first.complete(key, claim.lease(), CREATED));
+
+        final IdempotencyStore.Claim replay = second.claim(key, "a", Duration.ZERO);
+        assertEquals(IdempotencyStore.Status.REPLAY, replay.status());
+        assertEquals(201, replay.response().status());
+        assertEquals("application/json", replay.response().contentType());
+        assertArrayEquals(CREATED.body(), replay.response().body());
+    }
+
+    @Test
+    void duplicatesWaitForTheFirstRequest() throws Exception {
+        final String key = UUID.randomUUID().toString();
+        final IdempotencyStore first = store(Duration.ofMinutes(1));
+        final IdempotencyStore second = store(Duration.ofMinutes(1));
+        final IdempotencyStore.Claim claim = first.claim(key, "a", Duration.ZERO);
+        assertEquals(IdempotencyStore.Status.ACQUIRED, claim.status());
+
+        final CompletableFuture<IdempotencyStore.Claim> waiting =
+                CompletableFuture.supplyAsync(() -> second.claim(key, "a", Duration.ofSeconds(5)));
+        TimeUnit.MILLISECONDS.sleep(100);
+        first.complete(key, claim.lease(), CREATED);
+
+        assertEquals(IdempotencyStore.Status.REPLAY, waiting.get().status());
+    }
+
+    @Test
+    void releasedAndLapsedClaimsCanBeTakenOver() throws Exception {
+        final String released = UUID.randomUUID().toString();
+        final IdempotencyStore store = store(Duration.ofMinutes(1));
+        final IdempotencyStore.Claim claim = store.claim(released, "a", Duration.ZERO);
+        assertEquals(IdempotencyStore.Status.ACQUIRED, claim.status());
+        store.release(released, claim.lease());
+        assertEquals(IdempotencyStore.Status.ACQUIRED, store.claim(released, "a", Duration.ZERO).status());
+
+        // as if the replica holding the key crashed
+        final String lapsed = UUID.randomUUID().toString();
+        final IdempotencyStore shortLease = store(Duration.ofMillis(100));
+        assertEquals(IdempotencyStore.Status.ACQUIRED, shortLease.claim(lapsed, "a", Duration.ZERO).status());
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertEquals(IdempotencyStore.Status.ACQUIRED, shortLease.claim(lapsed, "a", Duration.ZERO).status());
+    }
+
+    @Test
+    void aLapsedLeaseCannotCompleteOrReleaseTheTakeOver() throws Exception {
+        final String key = UUID.randomUUID().toString();
+        final IdempotencyStore store = store(Duration.ofMillis(100));
+        final IdempotencyStore.Claim slow = store.claim(key, "a", Duration.ZERO);
+        TimeUnit.MILLISECONDS.sleep(150);
+        final IdempotencyStore.Claim retry = store.claim(key, "a", Duration.ZERO);
+        assertEquals(IdempotencyStore.Status.ACQUIRED, retry.status());
+
+        store.release(key, slow.lease());
+        assertFalse(store.complete(key, slow.lease(), CREATED));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from idempotency_keys where id = ? and status is null", Integer.class, key));
+        assertTrue(store.complete(key, retry.lease(), CREATED));
+        assertEquals(IdempotencyStore.Status.REPLAY, store.claim(key, "a", Duration.ZERO).status());
+    }
+
+    @Test
+    void expiredKeysAreRemoved() {
+        final String key = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+                insert into idempotency_keys (id, fingerprint, status, expires_at)
+                values (?, 'a', 201, now() - interval '1 minute')""", key);
+        final PostgresIdempotencyStore store = store(Duration.ofMinutes(1));
+
+        // an expired key is claimed afresh, even before the cleanup has run
+        assertEquals(IdempotencyStore.Status.ACQUIRED, store.claim(key, "b", Duration.ZERO).status());
+        jdbcTemplate.update("update idempotency_keys set expires_at = now() - interval '1 minute' where id = ?", key);
+        assertEquals(1, store.removeExpired(100));
+    }
+
+    private static PostgresIdempotencyStore store(Duration lease) {
+        return new PostgresIdempotencyStore(jdbcTemplate, Duration.ofHours(1), lease, Duration.ofMillis(10));
+    }
+}
@@ -0,0 +1,245 @@
+package com.lokummeet.backend.rsvp;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoinEngineTest {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static AttendeeStore attendeeStore;
+
+    private final List<JoinEngine> engines = new ArrayList<>();
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        final DataSource dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table events (
+                    id bigserial primary key, max_capacity integer, current_capacity integer default 0)""");
+        jdbcTemplate.execute("""
+                create table event_attendees (
+                    id bigserial primary key, event_id bigint not null references events,
+                    user_id bigint not null, joined_at timestamptz, status varchar(50),
+                    constraint uk_event_attendees_event_user unique (event_id, user_id))""");
+        jdbcTemplate.execute("create index idx_event_attendees_event_status_id on event_attendees (event_id, status, id)");
+        attendeeStore = new AttendeeStore(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @AfterEach
+    void stopEngines() {
+        engines.forEach(JoinEngine::shutdown);
+    }
+
+    @Test
+    void parallelJoinsFillTheEventExactly() throws Exception {
+        final long eventId = event(300);
+        final Map<JoinResult, Integer> results = joinInParallel(List.of(engine()), eventId, 5000);
+
+        assertEquals(300, results.get(JoinResult.JOINED));
+        assertEquals(4700, results.get(JoinResult.WAITLISTED));
+        assertEquals(300, currentCapacity(eventId));
+        assertEquals(300, attendees(eventId, "JOINED"));
+        assertEquals(4700, attendees(eventId, "WAITLISTED"));
+    }
+
+    @Test
+    void replicasSharingTheDatabaseNeverOversell() throws Exception {
+        final long eventId = event(100);
+        // each replica counts 100 free seats, so the database has to turn away half of what they promise
+        final Map<JoinResult, Integer> results = joinInParallel(List.of(engine(), engine()), eventId, 2000);
+
+        assertEquals(100, results.get(JoinResult.JOINED));
+        assertEquals(1900, results.get(JoinResult.WAITLISTED));
+        assertEquals(100, currentCapacity(eventId));
+        assertEquals(100, attendees(eventId, "JOINED"));
+    }
+
+    @Test
+    void joiningTwiceTakesOneSeatOrOneWaitlistEntry() throws Exception {
+        final long eventId = event(2);
+        final JoinEngine engine = engine();
+
+        assertEquals(JoinResult.JOINED, engine.join(eventId, 1).get());
+        assertEquals(JoinResult.ALREADY_JOINED, engine.join(eventId, 1).get());
+        assertEquals(JoinResult.JOINED, engine.join(eventId, 2).get());
+        assertEquals(JoinResult.WAITLISTED, engine.join(eventId, 3).get());
+        assertEquals(JoinResult.WAITLISTED, engine.join(eventId, 3).get());
+
+        assertEquals(2, currentCapacity(eventId));
+        assertEquals(1, attendees(eventId, "WAITLISTED"));
+    }
+
+    @Test
+    void leavingPromotesTheWaitlistInArrivalOrder() throws Exception {
+        final long eventId = event(1);
+        final JoinEngine engine = engine();
+        assertEquals(JoinResult.JOINED, engine.join(eventId, 1).get());
+        for (long user = 2; user <= 4; user++) {
+            assertEquals(JoinResult.WAITLISTED, engine.join(eventId, user).get());
+        }
+
+        assertTrue(engine.leave(eventId, 1));
+        assertFalse(engine.leave(eventId, 1));
+        awaitStatus(eventId, 2, "JOINED");
+        assertEquals("WAITLISTED", status(eventId, 3));
+
+        // a waiting user leaving frees no seat
+        assertTrue(engine.leave(eventId, 3));
+        assertTrue(engine.leave(eventId, 2));
+        awaitStatus(eventId, 4, "JOINED");
+        assertEquals(1, currentCapacity(eventId));
+    }
+
+    @Test
+    void newcomersDoNotOvertakeTheWaitlist() throws Exception {
+        final long eventId = event(1);
+        assertEquals(JoinResult.JOINED, engine().join(eventId, 1).get());
+        assertEquals(JoinResult.WAITLISTED, engine().join(eventId, 2).get());
+        // a seat freed behind the engines' backs, as by a replica whose promotion has not run yet
+        jdbcTemplate.update("delete from event_attendees where event_id = ? and user_id = 1", eventId);
+        jdbcTemplate.update("update events set current_capacity = 0 where id = ?", eventId);
+
+        // a fresh count sees the free seat, but promotion hands it to the head of the waitlist
+        assertEquals(JoinResult.WAITLISTED, engine().join(eventId, 5).get());
+        assertEquals("JOINED", status(eventId, 2));
+    }
+
+    @Test
+    void promotionIsIdempotent() {
+        final long eventId = event(2);
+        jdbcTemplate.update("""
+                insert into event_attendees (event_id, user_id, status)
+                select ?, g, 'WAITLISTED' from generate_series(1, 5) g""", eventId);
+
+        assertEquals(List.of(eventId), attendeeStore.findPromotableEvents().stream().filter(id -> id == eventId).toList());
+        assertEquals(2, attendeeStore.promote(eventId));
+        assertEquals(0, attendeeStore.promote(eventId));
+        assertEquals(2, currentCapacity(eventId));
+        assertEquals("JOINED", status(eventId, 2));
+        assertEquals("WAITLISTED", status(eventId, 3));
+    }
+
+    @Test
+    void eventsWithoutCapacityAdmitEveryone() throws Exception {
+        final long eventId = event(null);
+        final Map<JoinResult, Integer> results = joinInParallel(List.of(engine()), eventId, 1000);
+
+        assertEquals(1000, results.get(JoinResult.JOINED));
+        assertEquals(1000, currentCapacity(eventId));
+    }
+
+    @Test
+    void unknownEventsCompleteWithNull() throws Exception {
+        assertNull(engine().join(-1, 1).get());
+    }
+
+    @Test
+    void aBatchWithoutStatusesFailsItsJoinsAndTheFlusherCarriesOn() throws Exception {
+        final long broken = event(10);
+        final long fine = event(10);
+        final AttendeeStore lossy = new AttendeeStore(jdbcTemplate, new DataSourceTransactionManager(postgres.getPostgresDatabase())) {
+            @Override
+            public JoinOutcome join(long eventId, List<Long> userIds, boolean seat) {
+                final JoinOutcome written = super.join(eventId, userIds, seat);
+                return eventId == broken ? new JoinOutcome(Map.of(), written.inserted(), written.promoted()) : written;
+            }
+        };
+        final JoinEngine engine = new JoinEngine(lossy, 1, 500, Duration.ofSeconds(30));
+        engines.add(engine);
+
+        final CompletableFuture<JoinResult> lost = engine.join(broken, 1);
+        assertThrows(ExecutionException.class, () -> lost.get(5, TimeUnit.SECONDS));
+        assertEquals(JoinResult.JOINED, engine.join(fine, 1).get(5, TimeUnit.SECONDS));
+    }
+
+    private Map<JoinResult, Integer> joinInParallel(List<JoinEngine> replicas, long eventId, int users) throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(200);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<JoinResult>> futures = new ArrayList<>(users);
+        for (int user = 1; user <= users; user++) {
+            final long userId = user;
+            final JoinEngine replica = replicas.get(user % replicas.size());
+            futures.add(pool.submit(() -> {
+                start.await();
+                final CompletableFuture<JoinResult> result = replica.join(eventId, userId);
+                return result.get();
+            }));
+        }
+        start.countDown();
+        final Map<JoinResult, Integer> results = new EnumMap<>(JoinResult.class);
+        for (JoinResult result : JoinResult.values()) {
+            results.put(result, 0);
+        }
+        for (Future<JoinResult> future : futures) {
+            results.merge(future.get(), 1, Integer::sum);
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    private JoinEngine engine() {
+        final JoinEngine engine = new JoinEngine(attendeeStore, 2, 500, Duration.ofSeconds(30));
+        engines.add(engine);
+        return engine;
+    }
+
+    private static long event(Integer capacity) {
+        return jdbcTemplate.queryForObject(
+                "insert into events (max_capacity) values (?) returning id", Long.class, capacity);
+    }
+
+    private static int currentCapacity(long eventId) {
+        return jdbcTemplate.queryForObject("select current_capacity from events where id = ?", Integer.class, eventId);
+    }
+
+    private static int attendees(long eventId, String status) {
+        return jdbcTemplate.queryForObject("select count(*) from event_attendees where event_id = ? and status = ?",
+                Integer.class, eventId, status);
+    }
+
+    private static String status(long eventId, long userId) {
+        return jdbcTemplate.queryForObject("select status from event_attendees where event_id = ? and user_id = ?",
+                String.class, eventId, userId);
+    }
+
+    private static void awaitStatus(long eventId, long userId, String expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!expected.equals(status(eventId, userId)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, status(eventId, userId));
+    }
+}
@@ -0,0 +1,65 @@
+package com.lokummeet.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryEventSearchTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    @Test
+    void matchesInflectedFormsAndRanksTitleFirst() {
+        final InMemoryEventSearch search = new InMemoryEventSearch();
+        search.index(event(1L, "Wieczór z klasycznym kinem", "Projekcja filmów", "Kraków", 5));
+        search.index(event(2L, "Spotkanie klubu książki", "Po spotkaniu idziemy do kina", "Kraków", 5));
+        search.index(event(3L, "Koncert", "Muzyka na żywo", "Gdańsk", 5));
+
+        assertEquals(List.of(1L, 2L), ids(search.search("kino", TODAY, null, 10)));
+        assertEquals(List.of(2L), ids(search.search("kina spotkanie", TODAY, null, 10)));
+        assertTrue(search.search("teatr", TODAY, null, 10).isEmpty());
+    }
+
+    @Test
+    void skipsPastEventsAndForgetsRemovedOnes() {
+        final InMemoryEventSearch search = new InMemoryEventSearch();
+        search.index(event(1L, "Koncert jazzowy", "", "", -1));
+        search.index(event(2L, "Koncert rockowy", "", "", 3));
+        search.index(event(3L, "Koncert kameralny", "", "", 3));
+        search.remove(3L);
+
+        assertEquals(List.of(2L), ids(search.search("koncert", TODAY, null, 10)));
+    }
+
+    @Test
+    void cursorContinuesWhereThePageEnded() {
+        final InMemoryEventSearch search = new InMemoryEventSearch();
+        for (long id = 1; id <= 5; id++) {
+            search.index(event(id, "Joga w parku", "", "", 2));
+        }
+
+        final List<SearchHit> first = search.search("joga", TODAY, null, 2);
+        final List<SearchHit> second = search.search("joga", TODAY, first.getLast().cursor(), 2);
+        final List<SearchHit> third = search.search("joga", TODAY, second.getLast().cursor(), 2);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(concat(first, second, third)));
+    }
+
+    private static SearchDocument event(Long id, String title, String description, String location, int inDays) {
+        final LocalDate date = TODAY.plusDays(inDays);
+        return new SearchDocument(id, title, description, location, date, date.atTime(18, 0));
+    }
+
+    @SafeVarargs
+    private static List<SearchHit> concat(List<SearchHit>... pages) {
+        return Arrays.stream(pages).flatMap(List::stream).toList();
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(hit -> hit.card().getId()).toList();
+    }
+}
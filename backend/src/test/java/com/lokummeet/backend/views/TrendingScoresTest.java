@@ -0,0 +1,53 @@
+package com.lokummeet.backend.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrendingScoresTest {
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Test
+    void viewsDecayByTheirAgeWithinEachWindow() {
+        final TrendingScores scores = new TrendingScores(0.01, NOW);
+        scores.add(Map.of(1L, 100L), NOW);
+
+        final Instant anHourLater = NOW.plus(Duration.ofHours(1));
+        assertEquals(100 / Math.E, scores.score(1, TrendingWindow.HOUR, anHourLater), 1e-9);
+        assertEquals(100 * Math.exp(-1.0 / 24), scores.score(1, TrendingWindow.DAY, anHourLater), 1e-9);
+
+        // adding in several batches weighs each view by its own age
+        scores.add(Map.of(1L, 50L), anHourLater);
+        assertEquals(100 / Math.E + 50, scores.score(1, TrendingWindow.HOUR, anHourLater), 1e-9);
+    }
+
+    @Test
+    void recentViewsOutrankOlderOnesOnlyInTheShortWindow() {
+        final TrendingScores scores = new TrendingScores(0.01, NOW);
+        scores.add(Map.of(1L, 1000L), NOW);
+        final Instant later = NOW.plus(Duration.ofHours(6));
+        scores.add(Map.of(2L, 100L, 3L, 10L), later);
+
+        assertEquals(List.of(2L, 3L, 1L), scores.top(TrendingWindow.HOUR, 5, later));
+        assertEquals(List.of(1L, 2L, 3L), scores.top(TrendingWindow.DAY, 5, later));
+        assertEquals(List.of(2L), scores.top(TrendingWindow.HOUR, 1, later));
+    }
+
+    @Test
+    void eventsAreForgottenOnceEveryScoreHasDecayed() {
+        final TrendingScores scores = new TrendingScores(0.5, NOW);
+        scores.add(Map.of(1L, 10L, 2L, 1L), NOW);
+
+        // the day window still holds 10 * e^-1 of the first event, but only 1 * e^-1 of the second
+        final Instant aDayLater = NOW.plus(Duration.ofDays(1));
+        assertEquals(List.of(1L), scores.top(TrendingWindow.DAY, 5, aDayLater));
+        assertEquals(1, scores.size());
+        assertEquals(0, scores.score(1, TrendingWindow.DAY, NOW.plus(Duration.ofDays(5))));
+        assertEquals(0, scores.size());
+    }
+}
@@ -0,0 +1,19 @@
+"use client";
+
+import useSWR from "swr";
+import { fetcher } from "@/lib/fetcher";
+import { Event } from "@/src/types/Event";
+
+/** Loads several events in one request instead of one `useEventId` call per event. */
+export default function useEventIds(ids: number[]) {
+  const { data, error, isLoading } = useSWR(
+    ids.length > 0 ? `${process.env.NEXT_PUBLIC_API_URL}/api/public/events/batch?ids=${ids.join(",")}` : null,
+    fetcher
+  );
+
+  return {
+    events: Array.isArray(data) ? data.map(Event.fromJSON) : undefined,
+    isLoading,
+    isError: error
+  }
+}
@@ -10,7 +10,7 @@ export default function useEventLatest() {
     );
 
     return {
-        eventCard: data,
+        eventCard: data?.items,
         isLoading,
         isError: error
     }
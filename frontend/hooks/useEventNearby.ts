@@ -0,0 +1,23 @@
+"use client"
+
+import { fetcher } from "@/lib/fetcher";
+import useSWR from "swr";
+
+export default function useEventNearby(lat?: number, lon?: number, radiusKm?: number, sort: "DISTANCE" | "TIME" = "DISTANCE") {
+    const params = new URLSearchParams({ lat: String(lat), lon: String(lon), sort });
+    if (radiusKm) {
+        params.set("radiusKm", String(radiusKm));
+    }
+    const { data, error, isLoading } = useSWR(
+      lat !== undefined && lon !== undefined
+        ? `${process.env.NEXT_PUBLIC_API_URL}/api/public/events/nearby?${params}`
+        : null,
+      fetcher
+    );
+
+    return {
+        nearbyEvents: data,
+        isLoading,
+        isError: error
+    }
+}
@@ -0,0 +1,23 @@
+"use client"
+
+import { fetcher } from "@/lib/fetcher";
+import useSWR from "swr";
+
+export default function useEventSearch(query: string, cursor?: string) {
+    const q = query.trim();
+    const params = new URLSearchParams({ q });
+    if (cursor) {
+        params.set("cursor", cursor);
+    }
+    const { data, error, isLoading } = useSWR(
+      q ? `${process.env.NEXT_PUBLIC_API_URL}/api/public/events/search?${params}` : null,
+      fetcher
+    );
+
+    return {
+        eventCard: data?.items,
+        next: data?.next,
+        isLoading,
+        isError: error
+    }
+}
@@ -1,20 +1,42 @@
 import "server-only"
 import {cookies} from "next/headers";
-import {User} from "@/src/types/User";
+import {UserProfile} from "@/src/types/UserProfile";
 
+// Last /me response per session, revalidated with If-None-Match so unchanged profiles come back as 304.
+const MAX_CACHED_PROFILES = 1000;
+const profileCache = new Map<string, { etag: string, user: UserProfile }>();
 
-export async function getUser(): Promise<User | null> {
+function rememberProfile(session: string, etag: string, user: UserProfile) {
+    profileCache.delete(session);
+    if (profileCache.size >= MAX_CACHED_PROFILES) {
+        profileCache.delete(profileCache.keys().next().value!);
+    }
+    profileCache.set(session, {etag, user});
+}
+
+export async function getUser(): Promise<UserProfile | null> {
     const cookieStore = await cookies();
+    const session = cookieStore.get("JSESSIONID")?.value ?? "";
+    const cached = profileCache.get(session);
     try {
+        const headers: Record<string, string> = {
+            "Cookie": `JSESSIONID=${session}`
+        };
+        if (cached) {
+            headers["If-None-Match"] = cached.etag;
+        }
         const authResponse = await fetch(`${process.env.NEXT_PUBLIC_API_URL}/api/auth/me`, {
             method: "GET",
-            headers: {
-                "Cookie": `JSESSIONID=${cookieStore.get("JSESSIONID")?.value}`
-            },
+            headers,
             cache: "no-store",
         });
 
+        if (authResponse.status === 304 && cached) {
+            return cached.user;
+        }
+
         if (!authResponse.ok) {
+            profileCache.delete(session);
             return null;
         }
 
@@ -25,7 +47,12 @@ export async function getUser(): Promise<User | null> {
 
 
         try {
-            return JSON.parse(text);
+            const user: UserProfile = JSON.parse(text);
+            const etag = authResponse.headers.get("ETag");
+            if (etag) {
+                rememberProfile(session, etag, user);
+            }
+            return user;
 
         } catch (e) {
             return null;
@@ -47,4 +74,3 @@ export const verifySession = async () => {
 
     return false;
 }
-
@@ -1,4 +1,8 @@
-import { User } from "@/src/types/User";
+export interface CreatorSummary {
+  id: number;
+  username: string;
+  avatarUrl: string | null;
+}
 
 export interface Event {
   title: string;
@@ -11,7 +15,7 @@ export interface Event {
   eventCategory: EventCategory;
   imageUrl: string;
   imageFileName: string;
-  createdBy: User;
+  createdBy: CreatorSummary;
   minAge: number;
   maxAge: number;
 }
@@ -0,0 +1,11 @@
+export interface UserProfile {
+    id: number;
+    username: string;
+    email: string;
+    avatarUrl: string;
+    bio: string;
+    verified: boolean;
+    banned: boolean;
+    userRoles: string[];
+    updatedAt: Date;
+}